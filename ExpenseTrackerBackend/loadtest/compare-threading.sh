@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Platform vs virtual threads under the same closed-loop load (the loadgen profile, src/loadgen/java).
+#
+# Needs a local MySQL (docker compose up -d db) and JDK 21. Each mode gets a fresh backend process on
+# $PORT with the matching Spring profile; everything else (pool sizes, logging, driver) is identical.
+#
+#   DB_URL=jdbc:mysql://localhost:3307/ExpenseTracker DB_USER=root DB_PASSWORD=root \
+#     ./loadtest/compare-threading.sh 1000 60
+#
+# Output lands in target/loadtest/: one loadgen report directory and one backend log per mode. The virtual
+# run is started with -Djdk.tracePinnedThreads=short, so every carrier pin shows up in its log and is
+# counted in the summary.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+USERS="${1:-1000}"
+DURATION="${2:-60}"
+WARMUP="${WARMUP:-15}"
+PORT="${PORT:-18080}"
+MANAGEMENT_PORT="${MANAGEMENT_PORT:-18081}"
+DB_URL="${DB_URL:-jdbc:mysql://localhost:3307/ExpenseTracker?rewriteBatchedStatements=true}"
+DB_USER="${DB_USER:-root}"
+DB_PASSWORD="${DB_PASSWORD:-root}"
+OUT=target/loadtest
+
+mkdir -p "$OUT"
+./mvnw -q -B -Pvirtual-threads -DskipTests package
+# Run from a copy: the loadgen runs below rebuild target/ while the backend is up.
+JAR="$OUT/backend.jar"
+cp "$(ls target/ExpenseTracker-*.jar | grep -v original | head -n 1)" "$JAR"
+
+run() {
+  local mode="$1"
+  shift
+  echo "=== $mode ==="
+  java "$@" -jar "$JAR" \
+    --spring.profiles.active="$mode" \
+    --server.port="$PORT" \
+    --management.server.port="$MANAGEMENT_PORT" \
+    --spring.datasource.url="$DB_URL" \
+    --spring.datasource.username="$DB_USER" \
+    --spring.datasource.password="$DB_PASSWORD" \
+    > "$OUT/$mode-backend.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:$MANAGEMENT_PORT/actuator/health" > /dev/null; then break; fi
+    sleep 1
+  done
+
+  ./mvnw -q -B -Ploadgen,virtual-threads verify \
+    -Dloadgen.baseUrl="http://localhost:$PORT" \
+    -Dloadgen.users="$USERS" \
+    -Dloadgen.durationSeconds="$DURATION" \
+    -Dloadgen.warmupSeconds="$WARMUP" \
+    -Dloadgen.thinkTimeMillis="${THINK_MS:-0}" \
+    -Dloadgen.reportDir="$PWD/$OUT/$mode"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform -Xmx1g
+run virtual -Xmx1g -Djdk.tracePinnedThreads=short
+
+echo
+echo "=== summary ($USERS users, ${DURATION}s) ==="
+grep -h "^total" "$OUT/platform/summary.txt" | sed 's/^total/platform/'
+grep -h "^total" "$OUT/virtual/summary.txt" | sed 's/^total/virtual /'
+echo "carrier pins reported in virtual run: $(grep -c '<== monitors' "$OUT/virtual-backend.log" || true)"
@@ -0,0 +1,78 @@
+package org.example.expensetracker.auth.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request.
+ * "cached" is the steady state (same bearer token repeatedly); "uncached" is a full signature check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(properties(10_000));
+        uncachedJwtUtil = new JwtUtil(properties(0));
+        user = User.builder()
+                .id(42L)
+                .username("bench_user")
+                .email("bench@example.com")
+                .password("{noop}unused")
+                .role(Role.USER)
+                .build();
+        token = cachedJwtUtil.generateToken(user);
+    }
+
+    private static JwtProperties properties(int cacheSize) {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("benchmark-secret-benchmark-secret-0123456789");
+        props.setAccessTokenTtl(Duration.ofHours(1));
+        props.setVerifiedTokenCacheSize(cacheSize);
+        return props;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cachedJwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * JSON rendering of the GET /api/ledger/entries response body, using the same Jackson 3 mapper
+ * Spring MVC writes responses with.
+ *
+ * {@code serializePage} is the Spring Data PageImpl the endpoint used to return; {@code serializeEnvelope}
+ * is the current {@link LedgerEntryPage}, and {@code serializeEnvelopeGzip} adds the cost of
+ * server.compression on top.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerPageSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private JsonMapper mapper;
+    private Page<LedgerEntryResponse> page;
+    private LedgerEntryPage envelope;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<LedgerEntryResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            content.add(new LedgerEntryResponse(
+                    (long) i,
+                    expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME,
+                    "entry " + i,
+                    expense ? ExpenseCategory.values()[random.nextInt(3)] : null,
+                    expense ? null : IncomeSource.values()[random.nextInt(3)],
+                    Money.ofCents(100 + random.nextInt(500_000)),
+                    today.minusDays(random.nextInt(365))
+            ));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "entryDate")), 10_000);
+        envelope = LedgerEntryPage.of(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeEnvelope() {
+        return mapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] serializeEnvelopeGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            mapper.writeValue(gzip, envelope);
+        }
+        return out.toByteArray();
+    }
+}
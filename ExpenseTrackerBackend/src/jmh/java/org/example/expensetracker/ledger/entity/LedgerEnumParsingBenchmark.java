@@ -0,0 +1,58 @@
+package org.example.expensetracker.ledger.entity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The from(String) parsers run for every request parameter and every JSON enum value on write.
+ * "canonical" inputs are the wire values; "variant" inputs exercise trimming, case folding and aliases.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerEnumParsingBenchmark {
+
+    @Param({"canonical", "variant"})
+    public String input;
+
+    private String type;
+    private String category;
+    private String source;
+
+    @Setup
+    public void setUp() {
+        boolean canonical = input.equals("canonical");
+        type = canonical ? "expense" : " Income ";
+        category = canonical ? "investment" : "Survival/Livelihood";
+        source = canonical ? "from_trading" : " FROM_TRADING";
+    }
+
+    @Benchmark
+    public LedgerEntryType entryType() {
+        return LedgerEntryType.from(type);
+    }
+
+    @Benchmark
+    public ExpenseCategory expenseCategory() {
+        return ExpenseCategory.from(category);
+    }
+
+    @Benchmark
+    public IncomeSource incomeSource() {
+        return IncomeSource.from(source);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.entity.LedgerMonthlyRollup;
+import org.example.expensetracker.ledger.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CPU-side work of the list and trend endpoints once the rows are loaded:
+ * entity to response mapping for one page, and trend assembly from monthly rollups.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LedgerMappingBenchmark {
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    @Param({"12", "36"})
+    public int months;
+
+    private List<LedgerEntry> entries;
+    private List<LedgerMonthlyRollup> rollups;
+    private YearMonth start;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        entries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            entries.add(LedgerEntry.builder()
+                    .id((long) i)
+                    .type(expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME)
+                    .description("entry " + i)
+                    .expenseCategory(expense ? ExpenseCategory.values()[random.nextInt(3)] : null)
+                    .incomeSource(expense ? null : IncomeSource.values()[random.nextInt(3)])
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(500_000), 2))
+                    .entryDate(today.minusDays(random.nextInt(365)))
+                    .build());
+        }
+
+        YearMonth end = YearMonth.now();
+        start = end.minusMonths(months - 1L);
+        rollups = new ArrayList<>(months * 2);
+        for (int i = 0; i < months; i++) {
+            int period = LedgerMonthlyRollup.periodOf(start.plusMonths(i));
+            for (LedgerEntryType type : LedgerEntryType.values()) {
+                rollups.add(LedgerMonthlyRollup.builder()
+                        .userId(1L)
+                        .period(period)
+                        .type(type)
+                        .total(Money.ofCents(100_000 + random.nextInt(10_000_000)))
+                        .entryCount(1 + random.nextInt(200))
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<LedgerEntryResponse> toResponsePage() {
+        List<LedgerEntryResponse> out = new ArrayList<>(entries.size());
+        for (LedgerEntry e : entries) {
+            out.add(LedgerService.toResponse(e));
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<LedgerTrendPointResponse> assembleTrend() {
+        return LedgerService.assembleTrend(rollups, start, months);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.expensetracker.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.example.expensetracker.ExpenseTrackerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Boots the backend in this JVM against a throwaway MySQL container, on a random port.
+ *
+ * Sharing the JVM keeps the setup to one command; the generator's own work is small (hand-built bodies,
+ * discarded responses), but for numbers that matter point {@code loadgen.baseUrl} at a separately started
+ * backend instead.
+ */
+final class BackendLauncher implements AutoCloseable {
+
+    private final MySQLContainer mysql;
+    private final ConfigurableApplicationContext context;
+
+    private BackendLauncher(MySQLContainer mysql, ConfigurableApplicationContext context) {
+        this.mysql = mysql;
+        this.context = context;
+    }
+
+    static BackendLauncher start(String backendArgs) {
+        MySQLContainer mysql = new MySQLContainer("mysql:8.0");
+        mysql.start();
+        try {
+            List<String> args = new ArrayList<>();
+            for (String a : backendArgs.split("\\s+")) {
+                if (!a.isBlank()) args.add(a);
+            }
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                    .properties(Map.of(
+                            "server.port", "0",
+                            "spring.datasource.url", mysql.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                            "spring.datasource.username", mysql.getUsername(),
+                            "spring.datasource.password", mysql.getPassword(),
+                            "spring.jpa.hibernate.ddl-auto", "update",
+                            "spring.jpa.show-sql", "false"
+                    ))
+                    .run(args.toArray(String[]::new));
+            return new BackendLauncher(mysql, context);
+        } catch (RuntimeException ex) {
+            mysql.stop();
+            throw ex;
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            mysql.stop();
+        }
+    }
+}
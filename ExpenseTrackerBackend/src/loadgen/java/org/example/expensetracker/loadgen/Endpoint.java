@@ -0,0 +1,32 @@
+package org.example.expensetracker.loadgen;
+
+/**
+ * Calls the simulated users make. The ones with a default weight take part in the request mix; signup and
+ * login happen once per user and are reported separately.
+ */
+enum Endpoint {
+
+    SIGNUP("signup", 0),
+    LOGIN("login", 0),
+    ADD_EXPENSE("addExpense", 12),
+    ADD_INCOME("addIncome", 3),
+    LIST("list", 35),
+    SUMMARY("summary", 20),
+    TREND("trend", 15),
+    DASHBOARD("dashboard", 15);
+
+    final String key;
+    final int defaultWeight;
+
+    Endpoint(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint e : values()) {
+            if (e.key.equalsIgnoreCase(key.trim())) return e;
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+}
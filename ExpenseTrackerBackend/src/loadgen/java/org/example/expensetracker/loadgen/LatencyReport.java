@@ -0,0 +1,90 @@
+package org.example.expensetracker.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-endpoint latency histograms and error counts. Recording is wait-free, so every simulated user
+ * records directly without coordination.
+ *
+ * Latencies are kept in microseconds with three significant digits. Only calls that start after the warmup
+ * are measured; signup and login are always recorded because they only happen during setup.
+ */
+final class LatencyReport {
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint e : Endpoint.values()) {
+            recorders.put(e, new Recorder(3));
+            errors.put(e, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long nanos, boolean ok) {
+        if (ok) {
+            recorders.get(endpoint).recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        } else {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Prints the summary table and writes one percentile distribution (.hgrm) per endpoint to {@code dir}.
+     */
+    void write(PrintStream out, Path dir, Duration measured, int users) throws IOException {
+        Files.createDirectories(dir);
+        double seconds = measured.toNanos() / 1e9;
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "%d users, %.0fs measured%n", users, seconds));
+        table.append(String.format(Locale.ROOT, "%-11s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        long total = 0;
+        long totalErrors = 0;
+        for (Endpoint e : Endpoint.values()) {
+            Histogram h = recorders.get(e).getIntervalHistogram();
+            long failed = errors.get(e).sum();
+            if (h.getTotalCount() == 0 && failed == 0) {
+                continue;
+            }
+            boolean setup = e == Endpoint.SIGNUP || e == Endpoint.LOGIN;
+            if (!setup) {
+                total += h.getTotalCount();
+                totalErrors += failed;
+            }
+
+            table.append(String.format(Locale.ROOT, "%-11s %9d %7d %9s %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.key, h.getTotalCount(), failed,
+                    setup ? "-" : String.format(Locale.ROOT, "%.1f", h.getTotalCount() / seconds),
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue())));
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve(e.key + ".hgrm")))) {
+                // Scale microseconds to milliseconds in the distribution output.
+                h.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        table.append(String.format(Locale.ROOT, "%-11s %9d %7d %9.1f%n", "total", total, totalErrors, total / seconds));
+
+        out.print(table);
+        Files.writeString(dir.resolve("summary.txt"), table);
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
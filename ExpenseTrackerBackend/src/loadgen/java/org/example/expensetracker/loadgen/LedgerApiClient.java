@@ -0,0 +1,72 @@
+package org.example.expensetracker.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Thin JSON-over-HTTP client for the endpoints the simulation uses. Bodies are built by hand and only the
+ * login token is ever parsed, so the generator spends its CPU on sending requests, not on databinding.
+ */
+final class LedgerApiClient {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    LedgerApiClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    int signup(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/signup", null, "{\"username\":\"" + username + "\",\"email\":\"" + username
+                + "@loadgen.local\",\"password\":\"" + password + "\"}");
+    }
+
+    /**
+     * @return the bearer token, or null when the login was rejected
+     */
+    String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> res = postForBody("/api/auth/login", null,
+                "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + password + "\"}");
+        if (res.statusCode() != 200) {
+            return null;
+        }
+        Matcher m = TOKEN.matcher(res.body());
+        return m.find() ? m.group(1) : null;
+    }
+
+    int post(String path, String token, String json) throws IOException, InterruptedException {
+        HttpRequest req = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int get(String pathAndQuery, String token) throws IOException, InterruptedException {
+        // The body is read off the wire (so transfer time counts) but not kept.
+        return http.send(request(pathAndQuery, token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> postForBody(String path, String token, String json) throws IOException, InterruptedException {
+        HttpRequest req = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        return token == null ? b : b.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.expensetracker.loadgen;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulates ledger users against the backend and reports per-endpoint latency percentiles and throughput.
+ *
+ * Without {@code loadgen.baseUrl} the backend is booted in-process against a MySQL container. Users start
+ * evenly over the ramp-up, the warmup that follows is not measured, then the measured window runs for the
+ * configured duration. Run through the Maven profile: {@code ./mvnw -Ploadgen verify}.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.fromSystemProperties();
+
+        BackendLauncher backend = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl.isEmpty()) {
+            System.out.println("Starting backend against a MySQL container...");
+            backend = BackendLauncher.start(options.backendArgs());
+            baseUrl = backend.baseUrl();
+        }
+
+        try {
+            run(options, baseUrl);
+        } finally {
+            if (backend != null) backend.close();
+        }
+    }
+
+    private static void run(LoadOptions options, String baseUrl) throws Exception {
+        System.out.printf("Driving %s with %d users, mix %s, think time %dms%n",
+                baseUrl, options.users(), options.mix(), options.thinkTime().toMillis());
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(users)
+                    .build();
+            LedgerApiClient client = new LedgerApiClient(http, baseUrl);
+            LatencyReport report = new LatencyReport();
+
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            long start = System.nanoTime();
+            long measureFrom = start + options.rampUp().toNanos() + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+
+            List<Future<Void>> running = new ArrayList<>(options.users());
+            for (int i = 0; i < options.users(); i++) {
+                long startAt = start + options.rampUp().toNanos() * i / Math.max(options.users(), 1);
+                running.add(users.submit(new SimulatedUser(
+                        "lg_" + runId + "_" + i, client, options, report, startAt, measureFrom, end, i)));
+            }
+
+            int failed = 0;
+            for (Future<Void> f : running) {
+                try {
+                    f.get();
+                } catch (Exception ex) {
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                System.out.printf("%d simulated users stopped early%n", failed);
+            }
+
+            System.out.println();
+            report.write(System.out, options.reportDir(), options.duration(), options.users());
+            System.out.println("Percentile distributions written to " + options.reportDir().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.expensetracker.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Run settings, read from {@code loadgen.*} system properties (the Maven profile passes them through).
+ *
+ * @param baseUrl      backend to drive; blank boots one in-process against a throwaway MySQL container
+ * @param backendArgs  extra Spring arguments for the in-process backend, e.g. --spring.profiles.active=virtual
+ * @param thinkTime    mean pause between a user's requests (exponentially distributed, capped at 10x)
+ * @param mix          relative weight per endpoint
+ */
+record LoadOptions(
+        String baseUrl,
+        String backendArgs,
+        int users,
+        Duration rampUp,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int seedEntries,
+        Map<Endpoint, Integer> mix,
+        Path reportDir
+) {
+
+    static LoadOptions fromSystemProperties() {
+        return new LoadOptions(
+                System.getProperty("loadgen.baseUrl", "").trim(),
+                System.getProperty("loadgen.backendArgs", "").trim(),
+                Integer.parseInt(System.getProperty("loadgen.users", "200")),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadgen.rampUpSeconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadgen.warmupSeconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadgen.durationSeconds", "60"))),
+                Duration.ofMillis(Long.parseLong(System.getProperty("loadgen.thinkTimeMillis", "500"))),
+                Integer.parseInt(System.getProperty("loadgen.seedEntries", "100")),
+                parseMix(System.getProperty("loadgen.mix", "")),
+                Path.of(System.getProperty("loadgen.reportDir", "target/loadgen"))
+        );
+    }
+
+    /**
+     * "list=50,summary=20" overrides those weights; endpoints not mentioned keep their defaults.
+     */
+    static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint e : Endpoint.values()) {
+            if (e.defaultWeight > 0) mix.put(e, e.defaultWeight);
+        }
+        if (spec == null || spec.isBlank()) {
+            return mix;
+        }
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like endpoint=weight, got: " + part);
+            }
+            Endpoint e = Endpoint.fromKey(kv[0]);
+            if (e == Endpoint.SIGNUP || e == Endpoint.LOGIN) {
+                throw new IllegalArgumentException("Signup and login run once per user and are not part of the mix");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight <= 0) mix.remove(e); else mix.put(e, weight);
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.expensetracker.loadgen;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One ledger user: signs up, logs in, seeds some history, then loops over the request mix with think times
+ * until the run ends. Runs on its own virtual thread.
+ */
+final class SimulatedUser implements Callable<Void> {
+
+    private static final String PASSWORD = "loadgen-pass";
+    private static final String[] CATEGORIES = {"personal", "survival", "investment"};
+    private static final String[] SOURCES = {"salary", "from_investment", "from_trading"};
+    private static final String[] SORTS = {"date", "date", "date", "amount", "tag"};
+
+    private final String username;
+    private final LedgerApiClient client;
+    private final LoadOptions options;
+    private final LatencyReport report;
+    private final long startAt;
+    private final long measureFrom;
+    private final long end;
+    private final SplittableRandom random;
+
+    private final Endpoint[] mixEndpoints;
+    private final int[] mixCumulative;
+
+    SimulatedUser(String username, LedgerApiClient client, LoadOptions options, LatencyReport report,
+                  long startAt, long measureFrom, long end, long seed) {
+        this.username = username;
+        this.client = client;
+        this.options = options;
+        this.report = report;
+        this.startAt = startAt;
+        this.measureFrom = measureFrom;
+        this.end = end;
+        this.random = new SplittableRandom(seed);
+
+        Map<Endpoint, Integer> mix = options.mix();
+        this.mixEndpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.mixCumulative = new int[mixEndpoints.length];
+        int sum = 0;
+        for (int i = 0; i < mixEndpoints.length; i++) {
+            sum += mix.get(mixEndpoints[i]);
+            mixCumulative[i] = sum;
+        }
+    }
+
+    @Override
+    public Void call() throws Exception {
+        sleepNanos(startAt - System.nanoTime());
+
+        long t0 = System.nanoTime();
+        int signup = client.signup(username, PASSWORD);
+        report.record(Endpoint.SIGNUP, System.nanoTime() - t0, signup == 201);
+
+        t0 = System.nanoTime();
+        String token = client.login(username, PASSWORD);
+        report.record(Endpoint.LOGIN, System.nanoTime() - t0, token != null);
+        if (token == null) {
+            return null;
+        }
+
+        if (options.seedEntries() > 0) {
+            client.post("/api/ledger/entries/batch", token, seedBatch(options.seedEntries()));
+        }
+
+        while (System.nanoTime() < end) {
+            think();
+            Endpoint op = nextOp();
+            long start = System.nanoTime();
+            if (start >= end) break;
+
+            boolean ok;
+            try {
+                ok = call(op, token) / 100 == 2;
+            } catch (Exception ex) {
+                if (ex instanceof InterruptedException) throw ex;
+                ok = false;
+            }
+            long finish = System.nanoTime();
+            if (start >= measureFrom && finish <= end) {
+                report.record(op, finish - start, ok);
+            }
+        }
+        return null;
+    }
+
+    private int call(Endpoint op, String token) throws Exception {
+        return switch (op) {
+            case ADD_EXPENSE -> client.post("/api/ledger/expenses", token,
+                    "{\"description\":\"groceries\",\"category\":\"" + pick(CATEGORIES) + "\",\"amount\":"
+                            + amount(1, 300) + ",\"date\":\"" + recentDate(30) + "\"}");
+            case ADD_INCOME -> client.post("/api/ledger/incomes", token,
+                    "{\"description\":\"payment\",\"source\":\"" + pick(SOURCES) + "\",\"amount\":"
+                            + amount(100, 5000) + ",\"date\":\"" + recentDate(30) + "\"}");
+            case LIST -> client.get(listQuery(), token);
+            case SUMMARY -> client.get(random.nextInt(3) == 0
+                    ? "/api/ledger/summary?dateFrom=" + recentDate(365)
+                    : "/api/ledger/summary", token);
+            case TREND -> client.get("/api/ledger/trend?months=" + (random.nextBoolean() ? 6 : 12), token);
+            case DASHBOARD -> client.get("/api/ledger/dashboard", token);
+            case SIGNUP, LOGIN -> throw new IllegalStateException("Not part of the mix: " + op);
+        };
+    }
+
+    /**
+     * Mostly the first page of the default view, with a realistic share of filters, other sorts and paging.
+     */
+    private String listQuery() {
+        StringBuilder q = new StringBuilder("/api/ledger/entries?size=").append(random.nextInt(4) == 0 ? 100 : 20);
+        q.append("&page=").append(random.nextInt(5) == 0 ? 1 + random.nextInt(4) : 0);
+
+        int filter = random.nextInt(10);
+        String type = null;
+        if (filter < 2) {
+            type = random.nextBoolean() ? "expense" : "income";
+            q.append("&type=").append(type);
+        } else if (filter < 4) {
+            type = "expense";
+            q.append("&category=").append(pick(CATEGORIES));
+        } else if (filter < 6) {
+            q.append("&dateFrom=").append(recentDate(90));
+        } else if (filter < 7) {
+            q.append("&minAmount=").append(amount(50, 500));
+        }
+
+        String sort = pick(SORTS);
+        if (sort.equals("tag") && type == null) sort = "date";
+        q.append("&sortBy=").append(sort).append("&sortDir=").append(random.nextInt(4) == 0 ? "asc" : "desc");
+        return q.toString();
+    }
+
+    private String seedBatch(int n) {
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            boolean expense = random.nextInt(5) != 0;
+            sb.append("{\"kind\":\"").append(expense ? "expense" : "income").append('"')
+                    .append(",\"description\":\"seed ").append(i).append('"')
+                    .append(expense ? ",\"category\":\"" + pick(CATEGORIES) + "\"" : ",\"source\":\"" + pick(SOURCES) + "\"")
+                    .append(",\"amount\":").append(expense ? amount(1, 300) : amount(100, 5000))
+                    .append(",\"date\":\"").append(recentDate(730)).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private Endpoint nextOp() {
+        int roll = random.nextInt(mixCumulative[mixCumulative.length - 1]);
+        for (int i = 0; i < mixCumulative.length; i++) {
+            if (roll < mixCumulative[i]) return mixEndpoints[i];
+        }
+        return mixEndpoints[mixEndpoints.length - 1];
+    }
+
+    private void think() throws InterruptedException {
+        long mean = options.thinkTime().toNanos();
+        if (mean <= 0) return;
+        // Exponential pauses (Poisson arrivals per user), capped so one unlucky draw cannot idle a user.
+        double draw = -Math.log(1 - random.nextDouble()) * mean;
+        sleepNanos(Math.min((long) draw, mean * 10));
+    }
+
+    private String amount(int min, int max) {
+        return (min + random.nextInt(max - min)) + "." + (10 + random.nextInt(90));
+    }
+
+    private LocalDate recentDate(int days) {
+        return LocalDate.now().minusDays(random.nextInt(days));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+}
@@ -5,6 +5,7 @@ import org.example.expensetracker.auth.exception.RestAuthenticationEntryPoint;
 import org.example.expensetracker.auth.security.JwtAuthenticationFilter;
 import org.example.expensetracker.auth.security.OAuth2FailureHandler;
 import org.example.expensetracker.auth.security.OAuth2SuccessHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -14,6 +15,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -30,7 +32,10 @@ public class SecurityConfig {
 
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${app.ledger.write-behind.enabled:false}") boolean writeBehind
+    ) throws Exception {
 
         http
                 .cors(cors -> {})
@@ -47,20 +52,32 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(
-                                // Public auth endpoints only; keep the rest authenticated.
-                                "/api/auth",
-                                "/api/auth/login",
-                                "/api/auth/signup",
-                                "/api/auth/oauth2/success",
-                                "/login/oauth2/**",
-                                "/oauth2/**",
-                                "/error",
-                                "/favicon.ico"
-                        ).permitAll()
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    if (writeBehind) {
+                        // Write-behind answers POST /expenses and /incomes with a CompletableFuture. Its async
+                        // dispatch resumes a request that was already authorized, and the JWT filter does not
+                        // run on it, so don't re-check. Nothing else is async.
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+                    }
+                    auth.requestMatchers(
+                            // Public auth endpoints only; keep the rest authenticated.
+                            "/api/auth",
+                            "/api/auth/login",
+                            "/api/auth/signup",
+                            "/api/auth/oauth2/success",
+                            "/login/oauth2/**",
+                            "/oauth2/**",
+                            "/error",
+                            "/favicon.ico",
+                            // Scraped by probes and Prometheus. Actuator only listens on management.server.port,
+                            // which is not published, so these are unreachable from the edge.
+                            "/actuator/health",
+                            "/actuator/prometheus"
+                    ).permitAll()
+                            // One-time ledger_entries conversion; see LedgerPartitionEndpoint.
+                            .requestMatchers("/actuator/ledgerpartitions").hasRole("ADMIN")
+                            .anyRequest().authenticated();
+                })
 
                 .oauth2Login(oauth -> oauth
                         .loginPage("/oauth2/authorization/google")
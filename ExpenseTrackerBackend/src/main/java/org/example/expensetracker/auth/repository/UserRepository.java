@@ -3,6 +3,8 @@ package org.example.expensetracker.auth.repository;
 
 import org.example.expensetracker.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -17,5 +19,8 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("select u.enabled from User u where u.id = :id")
+    Optional<Boolean> findEnabledById(@Param("id") Long id);
+
 
 }
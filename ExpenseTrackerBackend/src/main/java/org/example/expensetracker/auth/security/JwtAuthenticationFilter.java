@@ -1,12 +1,16 @@
 package org.example.expensetracker.auth.security;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -15,17 +19,43 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 
+/**
+ * Authenticates requests carrying a bearer token. Every token seen is recorded in {@code auth.jwt.validation},
+ * tagged with its outcome: {@code authenticated}, or the reason it was not (expired, signature, malformed,
+ * unsupported, invalid, disabled, unknown_user, error).
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final JwtProperties jwtProperties;
+    private final Meter.MeterProvider<Timer> validationTimer;
+
+    public JwtAuthenticationFilter(
+            JwtUtil jwtUtil,
+            CustomUserDetailsService userDetailsService,
+            UserStatusCache userStatusCache,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
+        this.jwtProperties = jwtProperties;
+        this.validationTimer = Timer.builder("auth.jwt.validation")
+                .description("Bearer token verification and authentication, by outcome")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -33,34 +63,79 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        String outcome = null;
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            VerifiedToken token = null;
+            if (StringUtils.hasText(jwt)) {
+                JwtVerification verification = jwtUtil.check(jwt);
+                token = verification.token();
+                outcome = verification.isVerified() ? "authenticated" : verification.failure().name().toLowerCase();
+            }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set authentication for user: {}", username);
+            if (token != null) {
+                String username = token.username();
+
+                UsernamePasswordAuthenticationToken authentication = jwtProperties.getAuthenticationMode() == JwtProperties.AuthenticationMode.CLAIMS
+                        ? fromClaims(token)
+                        : null;
+
+                if (authentication == null) {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                } else if (!userStatusCache.isEnabled(((JwtUserPrincipal) authentication.getPrincipal()).id())) {
+                    log.debug("Rejected token for disabled user: {}", username);
+                    outcome = "disabled";
+                    authentication = null;
+                }
+
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", username);
+                }
             }
+        } catch (UsernameNotFoundException ex) {
+            SecurityContextHolder.clearContext();
+            outcome = "unknown_user";
+            log.debug("Token subject no longer exists: {}", ex.getMessage());
         } catch (RuntimeException ex) {
             SecurityContextHolder.clearContext();
+            outcome = "error";
             log.error("Could not set user authentication in security context", ex);
         }
 
+        if (outcome != null) {
+            validationTimer.withTags("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the authentication from verified claims alone. Returns null for tokens that predate the
+     * userId/role claims so the caller can fall back to a database lookup.
+     */
+    private static UsernamePasswordAuthenticationToken fromClaims(VerifiedToken token) {
+        if (token.userId() == null || !StringUtils.hasText(token.role())) {
+            return null;
+        }
+
+        JwtUserPrincipal principal = new JwtUserPrincipal(token.userId(), token.username(), token.role());
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + token.role()))
+        );
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
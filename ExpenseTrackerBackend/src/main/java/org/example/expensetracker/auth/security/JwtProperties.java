@@ -25,5 +25,28 @@ public class JwtProperties {
      * Access token time-to-live.
      */
     private Duration accessTokenTtl = Duration.ofHours(24);
+
+    /**
+     * How authenticated requests obtain their principal.
+     * CLAIMS builds it from the verified token (no user query per request); DATABASE loads the user every time.
+     */
+    private AuthenticationMode authenticationMode = AuthenticationMode.CLAIMS;
+
+    /**
+     * In CLAIMS mode, how long a user's enabled/disabled status is trusted before it is re-read.
+     * This bounds how long a disabled account keeps working with an unexpired token.
+     */
+    private Duration userStatusTtl = Duration.ofSeconds(30);
+
+    /**
+     * Max number of recently verified tokens remembered (keyed by token hash, until the token's exp)
+     * so repeat requests with the same bearer token skip signature verification. 0 disables the cache.
+     */
+    private int verifiedTokenCacheSize = 10_000;
+
+    public enum AuthenticationMode {
+        CLAIMS,
+        DATABASE
+    }
 }
 
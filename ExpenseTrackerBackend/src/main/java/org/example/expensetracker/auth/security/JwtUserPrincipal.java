@@ -0,0 +1,15 @@
+package org.example.expensetracker.auth.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Lightweight principal built straight from verified JWT claims, so authenticated requests
+ * don't need to load the user row.
+ */
+public record JwtUserPrincipal(Long id, String username, String role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
@@ -18,11 +19,23 @@ public class JwtUtil {
 
     private final JwtProperties props;
 
+    // Both are immutable and thread-safe, so build them once instead of per call.
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    private final VerifiedTokenCache verifiedTokens;
+
     public JwtUtil(JwtProperties props) {
         this.props = props;
+        this.signingKey = buildSigningKey(props);
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(props.getIssuer())
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(props.getVerifiedTokenCacheSize());
     }
 
-    private Key getSigningKey() {
+    private static Key buildSigningKey(JwtProperties props) {
         if (props.getSecret() == null || props.getSecret().isBlank()) {
             throw new IllegalStateException("JWT secret is not configured (app.jwt.secret)");
         }
@@ -46,46 +59,72 @@ public class JwtUtil {
                 .claim("email", user.getEmail())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + ttlMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaims(token).getSubject();
+    /**
+     * Verifies the token once (signature, issuer, expiry) and returns its claims, or empty if it is not valid.
+     * Recently verified tokens are served from a bounded cache until they expire.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        return Optional.ofNullable(check(token).token());
     }
 
-    public Long getUserIdFromToken(String token) {
-        return getClaims(token).get("userId", Long.class);
-    }
+    /**
+     * Same as {@link #verify}, but keeps the reason a token was rejected.
+     */
+    public JwtVerification check(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtVerification.rejected(JwtVerification.Failure.MISSING);
+        }
 
-    public String getRoleFromToken(String token) {
-        return getClaims(token).get("role", String.class);
-    }
+        long now = System.currentTimeMillis();
+        String hash = null;
+        if (verifiedTokens.isEnabled()) {
+            hash = VerifiedTokenCache.hash(token);
+            VerifiedToken cached = verifiedTokens.get(hash, now);
+            if (cached != null) {
+                return JwtVerification.verified(cached);
+            }
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder()
-                    .requireIssuer(props.getIssuer())
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             logger.debug("JWT token expired");
+            return JwtVerification.rejected(JwtVerification.Failure.EXPIRED);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            logger.debug("JWT signature error: {}", e.getMessage());
+            return JwtVerification.rejected(JwtVerification.Failure.SIGNATURE);
+        } catch (MalformedJwtException e) {
+            logger.debug("Malformed JWT: {}", e.getMessage());
+            return JwtVerification.rejected(JwtVerification.Failure.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            logger.debug("Unsupported JWT: {}", e.getMessage());
+            return JwtVerification.rejected(JwtVerification.Failure.UNSUPPORTED);
         } catch (JwtException | IllegalArgumentException e) {
-            // JwtException covers signature, malformed, unsupported, etc.
+            // Remaining JwtExceptions: wrong issuer, missing claims, etc.
             logger.debug("JWT validation error: {}", e.getMessage());
+            return JwtVerification.rejected(JwtVerification.Failure.INVALID);
         }
 
-        return false;
+        Object rawUserId = claims.get("userId");
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                rawUserId instanceof Number n ? n.longValue() : null,
+                claims.get("role", String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+
+        if (hash != null && verified.expiresAt() != null) {
+            verifiedTokens.put(hash, verified, now);
+        }
+        return JwtVerification.verified(verified);
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .requireIssuer(props.getIssuer())
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 }
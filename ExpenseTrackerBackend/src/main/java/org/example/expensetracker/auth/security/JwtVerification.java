@@ -0,0 +1,28 @@
+package org.example.expensetracker.auth.security;
+
+/**
+ * Result of {@link JwtUtil#check}: the verified token, or the reason it was rejected.
+ */
+public record JwtVerification(VerifiedToken token, Failure failure) {
+
+    public enum Failure {
+        MISSING,
+        EXPIRED,
+        SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID
+    }
+
+    static JwtVerification verified(VerifiedToken token) {
+        return new JwtVerification(token, null);
+    }
+
+    static JwtVerification rejected(Failure failure) {
+        return new JwtVerification(null, failure);
+    }
+
+    public boolean isVerified() {
+        return token != null;
+    }
+}
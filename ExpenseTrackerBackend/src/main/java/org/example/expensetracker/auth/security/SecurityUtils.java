@@ -16,14 +16,13 @@ public class SecurityUtils {
     private final UserRepository userRepository;
 
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = currentPrincipal();
 
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("No authenticated user found");
+        if (principal instanceof JwtUserPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.id())
+                    .orElseThrow(() -> new RuntimeException("User not found: " + jwtPrincipal.username()));
         }
 
-        Object principal = authentication.getPrincipal();
-
         if (principal instanceof UserDetails userDetails) {
             String username = userDetails.getUsername();
             return userRepository.findByUsernameOrEmail(username, username)
@@ -33,12 +32,38 @@ public class SecurityUtils {
         throw new RuntimeException("Invalid authentication principal type");
     }
 
+    /**
+     * Returns a lazy reference to the current user, suitable for setting associations.
+     * With a claims-based principal this does not hit the database.
+     */
+    public User getCurrentUserReference() {
+        if (currentPrincipal() instanceof JwtUserPrincipal jwtPrincipal) {
+            return userRepository.getReferenceById(jwtPrincipal.id());
+        }
+        return getCurrentUser();
+    }
+
     public Long getCurrentUserId() {
+        if (currentPrincipal() instanceof JwtUserPrincipal jwtPrincipal) {
+            return jwtPrincipal.id();
+        }
         return getCurrentUser().getId();
     }
 
     public String getCurrentUsername() {
+        if (currentPrincipal() instanceof JwtUserPrincipal jwtPrincipal) {
+            return jwtPrincipal.username();
+        }
         return getCurrentUser().getUsername();
     }
-}
 
+    private static Object currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("No authenticated user found");
+        }
+
+        return authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.expensetracker.auth.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of "is this user still enabled", used by claims-based authentication so a
+ * disabled account is locked out within {@code app.jwt.user-status-ttl} without a query per request.
+ * Holds at most {@value #MAX_ENTRIES} users, evicting the least recently used.
+ */
+@Component
+public class UserStatusCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final JwtProperties props;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Status> statuses = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Status> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public UserStatusCache(UserRepository userRepository, JwtProperties props) {
+        this.userRepository = userRepository;
+        this.props = props;
+    }
+
+    public boolean isEnabled(Long userId) {
+        long now = System.nanoTime();
+        Status cached;
+        lock.lock();
+        try {
+            cached = statuses.get(userId);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && now - cached.loadedAt() < props.getUserStatusTtl().toNanos()) {
+            return cached.enabled();
+        }
+
+        boolean enabled = userRepository.findEnabledById(userId).orElse(false);
+        lock.lock();
+        try {
+            statuses.put(userId, new Status(enabled, now));
+        } finally {
+            lock.unlock();
+        }
+        return enabled;
+    }
+
+    private record Status(boolean enabled, long loadedAt) {
+    }
+}
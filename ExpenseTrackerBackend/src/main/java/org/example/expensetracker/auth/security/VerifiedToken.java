@@ -0,0 +1,10 @@
+package org.example.expensetracker.auth.security;
+
+import java.time.Instant;
+
+/**
+ * The claims we use from an access token, extracted once after its signature, issuer and expiry were checked.
+ * {@code userId} and {@code role} are null for tokens issued before those claims existed.
+ */
+public record VerifiedToken(String username, Long userId, String role, Instant expiresAt) {
+}
@@ -0,0 +1,63 @@
+package org.example.expensetracker.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded map from token hash to its {@link VerifiedToken}; an entry is only served until the token's own expiry.
+ * Raw tokens are never kept, only their SHA-256.
+ */
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    VerifiedToken get(String tokenHash, long nowMillis) {
+        VerifiedToken cached = entries.get(tokenHash);
+        if (cached == null) return null;
+        if (cached.expiresAt().toEpochMilli() <= nowMillis) {
+            entries.remove(tokenHash, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    void put(String tokenHash, VerifiedToken token, long nowMillis) {
+        if (entries.size() >= maxEntries) {
+            evict(nowMillis);
+        }
+        entries.put(tokenHash, token);
+    }
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(t -> t.expiresAt().toEpochMilli() <= nowMillis);
+
+        // Still full of live tokens: drop an arbitrary tenth rather than tracking recency on every hit.
+        int excess = entries.size() - (maxEntries - maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return java.util.HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
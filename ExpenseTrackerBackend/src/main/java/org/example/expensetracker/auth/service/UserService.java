@@ -1,5 +1,7 @@
 package org.example.expensetracker.auth.service;
 
+import java.util.concurrent.TimeUnit;
+
 import org.example.expensetracker.auth.dto.AuthResponse;
 import org.example.expensetracker.auth.dto.LoginRequest;
 import org.example.expensetracker.auth.dto.SignupRequest;
@@ -15,17 +17,65 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Registration and password login. Both are timed ({@code auth.register}, {@code auth.login}, tagged by outcome),
+ * and BCrypt work is timed on its own in {@code auth.password.hash} since it dominates both.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final Meter.MeterProvider<Timer> registerTimer;
+    private final Meter.MeterProvider<Timer> loginTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            JwtUtil jwtUtil,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.registerTimer = Timer.builder("auth.register")
+                .description("Signups, by outcome")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.loginTimer = Timer.builder("auth.login")
+                .description("Password logins, by outcome")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        Meter.MeterProvider<Timer> hashTimer = Timer.builder("auth.password.hash")
+                .description("Time spent in the password encoder")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.encodeTimer = hashTimer.withTags("operation", "encode");
+        this.matchesTimer = hashTimer.withTags("operation", "matches");
+    }
 
     public void register(SignupRequest signupRequest) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            doRegister(signupRequest);
+            outcome = "success";
+        } catch (IllegalStateException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            registerTimer.withTags("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void doRegister(SignupRequest signupRequest) {
 
         if (userRepository.existsByUsername(signupRequest.getUsername())) {
             throw new IllegalStateException("Username already taken");
@@ -40,7 +90,7 @@ public class UserService {
         user.setEmail(signupRequest.getEmail());
 
         String encodedPassword =
-                passwordEncoder.encode(signupRequest.getPassword());
+                encodeTimer.record(() -> passwordEncoder.encode(signupRequest.getPassword()));
         user.setPassword(encodedPassword);
 
         user.setRole(Role.USER);
@@ -50,6 +100,24 @@ public class UserService {
     }
 
     public AuthResponse login(LoginRequest loginRequest) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            AuthResponse response = doLogin(loginRequest);
+            outcome = "success";
+            return response;
+        } catch (BadCredentialsException e) {
+            outcome = "bad_credentials";
+            throw e;
+        } catch (DisabledException e) {
+            outcome = "disabled";
+            throw e;
+        } finally {
+            loginTimer.withTags("outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private AuthResponse doLogin(LoginRequest loginRequest) {
 
         User user = userRepository
                 .findByUsernameOrEmail(
@@ -63,10 +131,10 @@ public class UserService {
             throw new DisabledException("Account is disabled");
         }
 
-        if (!passwordEncoder.matches(
+        boolean matches = matchesTimer.record(() -> passwordEncoder.matches(
                 loginRequest.getPassword(),
-                user.getPassword())) {
-
+                user.getPassword()));
+        if (!matches) {
             throw new BadCredentialsException("Invalid username/email or password");
         }
 
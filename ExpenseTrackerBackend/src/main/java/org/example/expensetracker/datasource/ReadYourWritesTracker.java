@@ -0,0 +1,105 @@
+package org.example.expensetracker.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.expensetracker.auth.security.JwtUserPrincipal;
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.service.LedgerChangedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Remembers which users wrote recently and pins their requests to the primary for
+ * app.datasource.routing.read-your-writes-window, so a replica that has not caught up yet can't
+ * hide a change the user just made.
+ *
+ * The record is in-memory per instance; behind a load balancer this relies on the window being
+ * longer than the replica lag, or on sticky sessions.
+ */
+public class ReadYourWritesTracker implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".scope";
+
+    private final ReplicaRoutingProperties props;
+    private final SecurityUtils securityUtils;
+
+    // userId -> System.nanoTime() of the last committed write
+    private final Map<Long, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(ReplicaRoutingProperties props, SecurityUtils securityUtils) {
+        this.props = props;
+        this.securityUtils = securityUtils;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        if (event.userId() != null) {
+            lastWrite.put(event.userId(), System.nanoTime());
+        }
+    }
+
+    public boolean wroteRecently(Long userId) {
+        Long at = lastWrite.get(userId);
+        return at != null && System.nanoTime() - at < props.getReadYourWritesWindow().toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = currentUserId();
+        if (userId != null && wroteRecently(userId)) {
+            request.setAttribute(SCOPE_ATTRIBUTE, ReplicaRoutingContext.pinToPrimary());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread is handed back to the container; the async dispatch runs preHandle again.
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ReplicaRoutingContext.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.read-your-writes-window:10s}")
+    public void purgeExpired() {
+        long cutoff = System.nanoTime() - props.getReadYourWritesWindow().toNanos();
+        lastWrite.values().removeIf(at -> at - cutoff < 0);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return principal.id();
+        }
+        if (!(authentication.getPrincipal() instanceof UserDetails) || lastWrite.isEmpty()) {
+            return null;
+        }
+        try {
+            return securityUtils.getCurrentUserId();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.expensetracker.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.example.expensetracker.datasource.ReplicaRoutingDataSource.Replica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Periodically asks each replica how far behind the primary it is and takes it out of rotation when the
+ * lag exceeds app.datasource.routing.max-lag, when replication is stopped, or when it cannot be reached.
+ *
+ * A server that reports no replication status at all is treated as in sync, which is what a standalone
+ * stand-in database (local runs, tests) looks like. The replica user needs the REPLICATION CLIENT privilege.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<Replica> replicas;
+    private final ReplicaRoutingProperties props;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties props, MeterRegistry meterRegistry) {
+        this.replicas = routingDataSource.replicas();
+        this.props = props;
+
+        for (Replica r : replicas) {
+            Gauge.builder("datasource.replica.lag", r, Replica::lagSeconds)
+                    .baseUnit("seconds")
+                    .tag("replica", r.name())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", r, x -> x.isHealthy() ? 1 : 0)
+                    .tag("replica", r.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:2s}")
+    public void checkAll() {
+        for (Replica r : replicas) {
+            check(r);
+        }
+    }
+
+    void check(Replica replica) {
+        boolean wasHealthy = replica.isHealthy();
+        boolean healthy;
+        long lag;
+
+        try (Connection c = replica.dataSource().getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                healthy = true;
+                lag = 0;
+            } else {
+                lag = rs.getLong("Seconds_Behind_Source");
+                if (rs.wasNull()) {
+                    // Replication threads are not running: the replica is not catching up at all.
+                    healthy = false;
+                    lag = -1;
+                } else {
+                    healthy = lag <= props.getMaxLag().toSeconds();
+                }
+            }
+        } catch (SQLException ex) {
+            healthy = false;
+            lag = -1;
+            if (wasHealthy) {
+                logger.warn("Replica {} lag check failed: {}", replica.name(), ex.getMessage());
+            }
+        }
+
+        replica.update(healthy, lag);
+        if (wasHealthy != healthy) {
+            if (healthy) {
+                logger.info("Replica {} back in rotation (lag {}s)", replica.name(), lag);
+            } else {
+                logger.warn("Replica {} out of rotation (lag {}s, max {}s)", replica.name(), lag, props.getMaxLag().toSeconds());
+            }
+        }
+    }
+}
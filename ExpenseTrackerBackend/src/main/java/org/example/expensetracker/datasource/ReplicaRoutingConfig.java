@@ -0,0 +1,94 @@
+package org.example.expensetracker.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured DataSource with primary + replica routing when
+ * app.datasource.routing.enabled=true.
+ *
+ * The primary pool is still built from spring.datasource.* (and spring.datasource.hikari.*).
+ * The application-facing DataSource is a LazyConnectionDataSourceProxy around the router, so a
+ * transaction only picks its target once its read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (dataSource.getPoolName() == null) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < props.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica r = props.getReplicas().get(i);
+            String name = "replica-" + i;
+
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(r.getUrl())
+                    .username(r.getUsername())
+                    .password(r.getPassword())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(r.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // Boot only binds pool metrics for DataSource beans; replicas are not beans, so wire them here.
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, dataSource));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            ReplicaRoutingProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, props, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties props, SecurityUtils securityUtils) {
+        return new ReadYourWritesTracker(props, securityUtils);
+    }
+}
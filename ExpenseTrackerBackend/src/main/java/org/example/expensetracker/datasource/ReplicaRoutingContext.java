@@ -0,0 +1,59 @@
+package org.example.expensetracker.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Per-thread "stay on the primary" flag consulted by {@link ReplicaRoutingDataSource}.
+ *
+ * Set for the duration of a request by {@link ReadYourWritesTracker}; code that hands work to other
+ * threads (e.g. the dashboard fan-out) wraps the tasks with {@link #propagate} so they route the same way.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    /**
+     * Pins the current thread to the primary until the returned scope is closed.
+     */
+    public static Scope pinToPrimary() {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        return () -> restore(previous);
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's routing decision on whatever thread executes it.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = pinToPrimary()) {
+                return task.call();
+            }
+        };
+    }
+
+    private static void restore(Boolean previous) {
+        if (previous == null) {
+            PINNED_TO_PRIMARY.remove();
+        } else {
+            PINNED_TO_PRIMARY.set(previous);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
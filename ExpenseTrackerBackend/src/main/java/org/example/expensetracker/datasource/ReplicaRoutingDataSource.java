@@ -0,0 +1,129 @@
+package org.example.expensetracker.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * The routing key is read when a connection is actually needed, so this must sit behind a
+ * LazyConnectionDataSourceProxy: by then the transaction's read-only flag has been set. Reads fall back
+ * to the primary when the thread is pinned ({@link ReplicaRoutingContext}) or no replica is healthy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica r : this.replicas) {
+            targets.put(r.name(), r.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(PRIMARY, "write");
+        }
+        if (ReplicaRoutingContext.isPinnedToPrimary()) {
+            return route(PRIMARY, "pinned");
+        }
+
+        Replica replica = nextHealthy();
+        if (replica == null) {
+            return route(PRIMARY, "no_healthy_replica");
+        }
+        return route(replica.name(), "read");
+    }
+
+    private Replica nextHealthy() {
+        int n = replicas.size();
+        if (n == 0) {
+            return null;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica r = replicas.get((start + i) % n);
+            if (r.isHealthy()) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    private String route(String target, String reason) {
+        meterRegistry.counter("datasource.routing", "target", target, "reason", reason).increment();
+        return target;
+    }
+
+    @Override
+    public void close() {
+        for (Replica r : replicas) {
+            r.dataSource().close();
+        }
+    }
+
+    /**
+     * One replica pool plus the health verdict maintained by {@link ReplicaLagMonitor}.
+     */
+    static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds = 0;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return name;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        long lagSeconds() {
+            return lagSeconds;
+        }
+
+        void update(boolean healthy, long lagSeconds) {
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+        }
+    }
+}
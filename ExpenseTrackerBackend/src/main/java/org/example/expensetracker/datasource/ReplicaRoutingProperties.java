@@ -0,0 +1,56 @@
+package org.example.expensetracker.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Route read-only transactions to the replicas below. When false the app uses the single
+     * spring.datasource primary as before.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Read replicas, used round-robin while healthy.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * A replica reporting more lag than this (or not replicating at all) is taken out of rotation
+     * until it catches up. Reads then fall back to the primary.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often each replica's lag is checked.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * After a user writes, their reads stay on the primary for this long so they see their own changes.
+     * Should comfortably exceed max-lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.expensetracker.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicaRoutingWebConfig implements WebMvcConfigurer {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesTracker);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.expensetracker.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.statements", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBudgetConfig {
+
+    /**
+     * Wraps the application DataSource (the routing proxy when replica routing is on), so every statement is
+     * seen exactly once whichever pool serves it.
+     */
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            StatementBudgetProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(props, meterRegistry));
+        // Ahead of the Spring Security chain (order -100), which looks users up while authenticating.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.expensetracker.datasource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the statements each request executes, records them per endpoint ({@code http.server.requests.statements}
+ * and {@code http.server.requests.statement.time}) and warns when a request goes over the budget in
+ * {@link StatementBudgetProperties}.
+ *
+ * Runs ahead of Spring Security so the user lookups done during authentication are charged too. The final
+ * {@link StatementStats} is left in the {@link #STATS_ATTRIBUTE} request attribute, which tests use to assert
+ * exact per-endpoint counts.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = StatementBudgetFilter.class.getName() + ".stats";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final StatementBudgetProperties props;
+    private final Meter.MeterProvider<DistributionSummary> statementCount;
+    private final Meter.MeterProvider<Timer> statementTime;
+
+    public StatementBudgetFilter(StatementBudgetProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.statementCount = DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50)
+                .withRegistry(meterRegistry);
+        this.statementTime = Timer.builder("http.server.requests.statement.time")
+                .description("Time spent executing SQL statements per request")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        StatementStats stats = new StatementStats();
+        try (StatementStats.Scope ignored = StatementStats.bind(stats)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        statementCount.withTags("method", method, "uri", uri).record(stats.count());
+        statementTime.withTags("method", method, "uri", uri).record(stats.elapsed().toNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.count() > props.getMaxPerRequest() || stats.elapsed().compareTo(props.getMaxTimePerRequest()) > 0) {
+            log.warn("{} {} executed {} SQL statements in {} ms (budget: {} statements, {} ms)",
+                    method, request.getRequestURI(), stats.count(), stats.elapsed().toMillis(),
+                    props.getMaxPerRequest(), props.getMaxTimePerRequest().toMillis());
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} executed {} SQL statements in {} ms",
+                    method, request.getRequestURI(), stats.count(), stats.elapsed().toMillis());
+        }
+    }
+}
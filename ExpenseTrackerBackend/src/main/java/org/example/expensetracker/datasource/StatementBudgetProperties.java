@@ -0,0 +1,28 @@
+package org.example.expensetracker.datasource;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.statements")
+public class StatementBudgetProperties {
+
+    /**
+     * Count the SQL statements each HTTP request executes and how long they take.
+     */
+    private boolean enabled = true;
+
+    /**
+     * A request executing more statements than this is logged as a warning.
+     */
+    private int maxPerRequest = 10;
+
+    /**
+     * A request spending longer than this executing statements is logged as a warning.
+     */
+    private Duration maxTimePerRequest = Duration.ofMillis(500);
+}
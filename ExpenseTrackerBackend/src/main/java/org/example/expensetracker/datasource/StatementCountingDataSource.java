@@ -0,0 +1,111 @@
+package org.example.expensetracker.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report each execute call (including a whole JDBC batch, which is one
+ * round trip) to the {@link StatementStats} bound to the calling thread. Nothing is recorded when no stats are
+ * bound, so background work such as the rollup verifier is not charged to anyone.
+ *
+ * Sits outside Hibernate, so JdbcTemplate batches and native queries are counted as well.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(target)
+        );
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Counting[" + target + "]";
+                default:
+                    break;
+            }
+
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // createStatement -> Statement, prepareStatement -> PreparedStatement, prepareCall -> CallableStatement
+                return Proxy.newProxyInstance(
+                        StatementCountingDataSource.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()},
+                        new StatementHandler(statement, (Connection) proxy)
+                );
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, Connection connection) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                default:
+                    break;
+            }
+
+            StatementStats stats = StatementStats.current();
+            if (stats == null || !name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                stats.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.expensetracker.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running count and total execution time of the SQL statements issued for one unit of work, normally an HTTP
+ * request (see {@link StatementBudgetFilter}).
+ *
+ * Bound to the current thread; {@link StatementCountingDataSource} adds to whatever is bound. Code that hands
+ * work to other threads (e.g. the dashboard fan-out) wraps the tasks with {@link #propagate} so their
+ * statements are charged to the same request.
+ */
+public final class StatementStats {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    public int count() {
+        return count.get();
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(nanos.get());
+    }
+
+    void record(long elapsedNanos) {
+        count.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Stats bound to the current thread, or null when statements are not being counted.
+     */
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code stats} to the current thread until the returned scope is closed.
+     */
+    public static Scope bind(StatementStats stats) {
+        StatementStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so its statements count towards the caller's stats on whatever thread executes it.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        StatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = bind(stats)) {
+                return task.call();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
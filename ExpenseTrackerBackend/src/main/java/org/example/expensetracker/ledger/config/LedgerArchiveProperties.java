@@ -0,0 +1,52 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.archive")
+public class LedgerArchiveProperties {
+
+    /**
+     * Move entries of years past the retention horizon into the compressed archive table, and read list and
+     * summary across both tables. The application refuses to start with it off while the archive table holds
+     * entries, since they would silently drop out of those reads (trend and matrix come from rollups and are
+     * unaffected either way).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Deepest offset (page x size) served by offset-paged list reads that span both tables. Such a page merges
+     * the first offset + size rows of each table, so deeper pages are refused with 400; scroll has no limit.
+     */
+    private int maxMergedOffset = 10_000;
+
+    /**
+     * Full years kept live besides the current one; with 2, entries dated before January 1st of two years ago
+     * are archived. Raising it later does not bring archived years back.
+     */
+    private int retainYears = 2;
+
+    /**
+     * Entries moved per transaction by the archive job.
+     */
+    private int batchSize = 5_000;
+
+    /**
+     * Keep ledger_entries range-partitioned by entry_date (one partition per live year), once an admin has
+     * converted it with POST /actuator/ledgerpartitions. The conversion copies the table.
+     */
+    private boolean partitioningEnabled = true;
+
+    /**
+     * Yearly partitions created ahead of the current year, so inserts never land in the catch-all partition.
+     */
+    private int partitionYearsAhead = 1;
+
+    /**
+     * Cron expression for the archive and partition maintenance job.
+     */
+    private String cron = "0 0 4 * * *";
+}
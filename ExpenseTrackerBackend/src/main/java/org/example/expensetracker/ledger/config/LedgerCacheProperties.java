@@ -0,0 +1,28 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.cache")
+public class LedgerCacheProperties {
+
+    /**
+     * Cache summary/trend results per user and filter. Entries are dropped whenever that user's ledger changes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Max cached results across all users; least recently used results are evicted first.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Upper bound on how long a result is served, even without writes (trend windows roll over at month end).
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
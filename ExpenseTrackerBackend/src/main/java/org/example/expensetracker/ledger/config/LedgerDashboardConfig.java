@@ -0,0 +1,20 @@
+package org.example.expensetracker.ledger.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LedgerDashboardConfig {
+
+    /**
+     * One virtual thread per dashboard component. The components block on JDBC, which is exactly
+     * what virtual threads are cheap for; the Hikari pool remains the real concurrency limit.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ledgerDashboardExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ledger-dashboard-", 0).factory());
+    }
+}
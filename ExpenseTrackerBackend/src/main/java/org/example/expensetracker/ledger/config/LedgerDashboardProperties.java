@@ -0,0 +1,19 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.dashboard")
+public class LedgerDashboardProperties {
+
+    /**
+     * Upper bound for each dashboard component (summary, trend, recent entries), measured from the
+     * moment the components are launched. They run concurrently, so this is also the overall budget.
+     */
+    private Duration componentTimeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,35 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.projection")
+public class LedgerProjectionProperties {
+
+    /**
+     * Serve list, summary and trend from an in-memory columnar copy of each active user's ledger. The copy is
+     * loaded on the user's first read and updated in place by every committed write.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Estimated heap across all projections; least recently used users are evicted first.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(64);
+
+    /**
+     * Users with more entries than this are never projected and keep reading from the database.
+     */
+    private int maxEntriesPerUser = 200_000;
+
+    /**
+     * How long an over-limit user is remembered before their size is checked again.
+     */
+    private Duration oversizedRecheck = Duration.ofMinutes(5);
+}
@@ -0,0 +1,26 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.rollup")
+public class LedgerRollupProperties {
+
+    /**
+     * Rebuild rollups on startup for users that have entries but no rollup rows yet (first deploy / restore).
+     */
+    private boolean backfillOnStartup = true;
+
+    /**
+     * Periodically recompute rollups from raw entries and repair any bucket that drifted.
+     */
+    private boolean verifyEnabled = true;
+
+    /**
+     * Cron expression for the verify job.
+     */
+    private String verifyCron = "0 30 3 * * *";
+}
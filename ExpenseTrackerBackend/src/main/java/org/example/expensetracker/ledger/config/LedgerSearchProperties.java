@@ -0,0 +1,42 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.search")
+public class LedgerSearchProperties {
+
+    /**
+     * Narrow description searches with an in-memory trigram index of each searching user's descriptions. The
+     * index is built on the user's first search and updated by every committed write; when off, a search scans
+     * the user's entries with LIKE.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Estimated heap across all indexes; least recently used users are evicted first.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(32);
+
+    /**
+     * Users with more entries than this are never indexed and search with LIKE.
+     */
+    private int maxEntriesPerUser = 200_000;
+
+    /**
+     * How long an over-limit user is remembered before their size is checked again.
+     */
+    private Duration oversizedRecheck = Duration.ofMinutes(5);
+
+    /**
+     * Most candidate ids handed to the query; a term matching more than this (a very common one) is searched
+     * with LIKE instead, which is then about as selective as the index.
+     */
+    private int maxCandidates = 5_000;
+}
@@ -0,0 +1,40 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.segments")
+public class LedgerSegmentProperties {
+
+    /**
+     * Export each user's closed months into a columnar segment file and answer long-range trend and summary
+     * history from it, memory-mapped, instead of from MySQL.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Local directory holding one segment file per user. Segments are derived data: deleting them is safe.
+     */
+    private Path directory = Path.of("data", "ledger-segments");
+
+    /**
+     * Users whose segment stays memory-mapped, least recently read evicted first. An evicted mapping is released
+     * once no reader holds it, and the file is mapped again on the user's next read.
+     */
+    private int maxMappedUsers = 10_000;
+
+    /**
+     * Cron expression for the exporter, which rewrites segments that are missing, stale or a month behind.
+     */
+    private String exportCron = "0 30 4 * * *";
+
+    /**
+     * Longest trend window served while segments are enabled; without them trend stays at 36 months.
+     */
+    private int maxTrendMonths = 120;
+}
@@ -0,0 +1,40 @@
+package org.example.expensetracker.ledger.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ledger.write-behind")
+public class LedgerWriteBehindProperties {
+
+    /**
+     * Queue single-entry writes (POST /expenses, /incomes) and commit them in groups from one writer thread
+     * instead of one transaction per request. Callers still get their response only after their group commits.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Writes waiting to be committed. When full, new writes are rejected with 429.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Max entries committed in one transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer waits for more entries after the first one arrives before committing a partial batch.
+     * This is the extra latency a lone write pays under light load.
+     */
+    private Duration linger = Duration.ofMillis(5);
+
+    /**
+     * On shutdown, how long to keep draining queued writes before failing the rest.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -1,21 +1,38 @@
 package org.example.expensetracker.ledger.controller;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
 import org.example.expensetracker.ledger.dto.CreateIncomeRequest;
+import org.example.expensetracker.ledger.dto.CreateLedgerBatchRequest;
+import org.example.expensetracker.ledger.dto.LedgerBatchResponse;
 import org.example.expensetracker.ledger.dto.LedgerDashboardResponse;
+import org.example.expensetracker.ledger.dto.LedgerEntryCursorPage;
+import org.example.expensetracker.ledger.dto.LedgerEntryPage;
 import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerMatrixResponse;
 import org.example.expensetracker.ledger.dto.LedgerSummaryResponse;
 import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
 import org.example.expensetracker.ledger.entity.ExpenseCategory;
 import org.example.expensetracker.ledger.entity.IncomeSource;
 import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.service.LedgerDashboardService;
+import org.example.expensetracker.ledger.service.LedgerExportFormat;
+import org.example.expensetracker.ledger.service.LedgerExportService;
+import org.example.expensetracker.ledger.service.LedgerFilter;
+import org.example.expensetracker.ledger.service.LedgerReadService;
 import org.example.expensetracker.ledger.service.LedgerService;
-import org.springframework.data.domain.Page;
+import org.example.expensetracker.ledger.service.LedgerVersionService;
+import org.example.expensetracker.ledger.service.LedgerWriteBehindService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,7 +44,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -36,20 +55,49 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LedgerController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final LedgerService ledgerService;
+    private final LedgerReadService ledgerReadService;
+    private final LedgerDashboardService ledgerDashboardService;
+    private final LedgerExportService ledgerExportService;
+    private final LedgerWriteBehindService ledgerWriteBehindService;
+    private final LedgerVersionService ledgerVersionService;
 
+    /**
+     * A {@code CompletableFuture<ResponseEntity<LedgerEntryResponse>>} with write-behind on, answered once the
+     * entry's group commits; otherwise the {@code ResponseEntity} itself, written synchronously.
+     */
     @PostMapping("/expenses")
-    public ResponseEntity<LedgerEntryResponse> addExpense(@Valid @RequestBody CreateExpenseRequest req) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(ledgerService.addExpense(req));
+    public Object addExpense(@Valid @RequestBody CreateExpenseRequest req) {
+        if (ledgerWriteBehindService.isEnabled()) {
+            return ledgerWriteBehindService.addExpense(req).thenApply(LedgerController::created);
+        }
+        return created(ledgerService.addExpense(req));
     }
 
+    /**
+     * Returns like {@link #addExpense}.
+     */
     @PostMapping("/incomes")
-    public ResponseEntity<LedgerEntryResponse> addIncome(@Valid @RequestBody CreateIncomeRequest req) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(ledgerService.addIncome(req));
+    public Object addIncome(@Valid @RequestBody CreateIncomeRequest req) {
+        if (ledgerWriteBehindService.isEnabled()) {
+            return ledgerWriteBehindService.addIncome(req).thenApply(LedgerController::created);
+        }
+        return created(ledgerService.addIncome(req));
+    }
+
+    private static ResponseEntity<LedgerEntryResponse> created(LedgerEntryResponse body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    @PostMapping("/entries/batch")
+    public ResponseEntity<LedgerBatchResponse> addBatch(@Valid @RequestBody CreateLedgerBatchRequest req) {
+        return ResponseEntity.ok(ledgerService.addBatch(req));
     }
 
     @GetMapping("/entries")
-    public ResponseEntity<Page<LedgerEntryResponse>> list(
+    public ResponseEntity<LedgerEntryPage> list(
             @RequestParam(name = "type", required = false) LedgerEntryType type,
             @RequestParam(name = "category", required = false) ExpenseCategory category,
             @RequestParam(name = "source", required = false) IncomeSource source,
@@ -57,13 +105,71 @@ public class LedgerController {
             @RequestParam(name = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
             @RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
             @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+            @RequestParam(name = "description", required = false) String description,
             @RequestParam(name = "sortBy", required = false, defaultValue = "date") String sortBy,
             @RequestParam(name = "sortDir", required = false, defaultValue = "desc") String sortDir,
             @RequestParam(name = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(name = "size", required = false, defaultValue = "50") int size,
+            @RequestParam(name = "mode", required = false, defaultValue = "page") String mode,
+            WebRequest request
+    ) {
+        boolean slice = switch (mode.toLowerCase(Locale.ROOT)) {
+            case "page" -> false;
+            case "slice" -> true;
+            default -> throw new IllegalArgumentException("Unsupported list mode: " + mode);
+        };
+        String etag = ledgerVersionService.etag("entries",
+                type, category, source, dateFrom, dateTo, minAmount, maxAmount, description, sortBy, sortDir, page, size, slice);
+        return conditional(request, etag, () -> slice
+                ? ledgerReadService.slice(type, category, source, dateFrom, dateTo, minAmount, maxAmount, description,
+                        sortBy, sortDir, page, size)
+                : LedgerEntryPage.of(ledgerReadService.list(type, category, source, dateFrom, dateTo, minAmount,
+                        maxAmount, description, sortBy, sortDir, page, size)));
+    }
+
+    @GetMapping("/entries/scroll")
+    public ResponseEntity<LedgerEntryCursorPage> scroll(
+            @RequestParam(name = "type", required = false) LedgerEntryType type,
+            @RequestParam(name = "category", required = false) ExpenseCategory category,
+            @RequestParam(name = "source", required = false) IncomeSource source,
+            @RequestParam(name = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(name = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
+            @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+            @RequestParam(name = "description", required = false) String description,
+            @RequestParam(name = "sortBy", required = false, defaultValue = "date") String sortBy,
+            @RequestParam(name = "sortDir", required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestParam(name = "size", required = false, defaultValue = "50") int size
     ) {
         return ResponseEntity.ok(
-                ledgerService.list(type, category, source, dateFrom, dateTo, minAmount, maxAmount, sortBy, sortDir, page, size)
+                ledgerReadService.scroll(type, category, source, dateFrom, dateTo, minAmount, maxAmount, description,
+                        sortBy, sortDir, cursor, size)
+        );
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(name = "format", required = false, defaultValue = "csv") String format,
+            @RequestParam(name = "type", required = false) LedgerEntryType type,
+            @RequestParam(name = "category", required = false) ExpenseCategory category,
+            @RequestParam(name = "source", required = false) IncomeSource source,
+            @RequestParam(name = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(name = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
+            @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+            HttpServletResponse response
+    ) throws IOException {
+        LedgerExportFormat exportFormat = LedgerExportFormat.from(format);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledger." + exportFormat.value() + "\"");
+
+        ledgerExportService.export(
+                new LedgerFilter(type, category, source, dateFrom, dateTo, minAmount, maxAmount),
+                exportFormat,
+                response.getOutputStream()
         );
     }
 
@@ -75,24 +181,45 @@ public class LedgerController {
             @RequestParam(name = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
             @RequestParam(name = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
             @RequestParam(name = "minAmount", required = false) BigDecimal minAmount,
-            @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount
+            @RequestParam(name = "maxAmount", required = false) BigDecimal maxAmount,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(ledgerService.summary(type, category, source, dateFrom, dateTo, minAmount, maxAmount));
+        String etag = ledgerVersionService.etag("summary", type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        return conditional(request, etag, () ->
+                ledgerReadService.summary(type, category, source, dateFrom, dateTo, minAmount, maxAmount)
+        );
     }
 
     @GetMapping("/trend")
     public ResponseEntity<List<LedgerTrendPointResponse>> trend(
-            @RequestParam(name = "months", required = false, defaultValue = "6") int months
+            @RequestParam(name = "months", required = false, defaultValue = "6") int months,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(ledgerService.trend(months));
+        // The window ends at the current month, so the month is part of the tag.
+        String etag = ledgerVersionService.etag("trend", months, YearMonth.now());
+        return conditional(request, etag, () -> ledgerReadService.trend(months));
+    }
+
+    @GetMapping("/matrix")
+    public ResponseEntity<LedgerMatrixResponse> matrix(
+            @RequestParam(name = "type", required = false) LedgerEntryType type,
+            @RequestParam(name = "from", required = false) YearMonth from,
+            @RequestParam(name = "to", required = false) YearMonth to,
+            WebRequest request
+    ) {
+        // Open-ended ranges default relative to the current month, so the month is part of the tag.
+        String etag = ledgerVersionService.etag("matrix", type, from, to, YearMonth.now());
+        return conditional(request, etag, () -> ledgerReadService.matrix(type, from, to));
     }
 
     @GetMapping("/dashboard")
     public ResponseEntity<LedgerDashboardResponse> dashboard(
             @RequestParam(name = "trendMonths", required = false, defaultValue = "6") int trendMonths,
-            @RequestParam(name = "recentSize", required = false, defaultValue = "6") int recentSize
+            @RequestParam(name = "recentSize", required = false, defaultValue = "6") int recentSize,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(ledgerService.dashboard(trendMonths, recentSize));
+        String etag = ledgerVersionService.etag("dashboard", trendMonths, recentSize, YearMonth.now());
+        return conditional(request, etag, () -> ledgerDashboardService.dashboard(trendMonths, recentSize));
     }
 
     @DeleteMapping("/entries/{id}")
@@ -100,4 +227,15 @@ public class LedgerController {
     public void delete(@PathVariable Long id) {
         ledgerService.deleteEntry(id);
     }
+
+    /**
+     * Answers If-None-Match with 304 before {@code body} runs, so an unchanged ledger costs one version lookup
+     * instead of the read and its serialization. Responses must be revalidated, but browsers may keep them.
+     */
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
 }
@@ -0,0 +1,36 @@
+package org.example.expensetracker.ledger.controller;
+
+import java.util.List;
+
+import org.example.expensetracker.ledger.repository.LedgerArchiveRepository;
+import org.example.expensetracker.ledger.service.LedgerArchiveJob;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/ledgerpartitions}, on the management port and for admins only: GET lists the ledger_entries
+ * partitions, POST runs the one-time conversion ({@link LedgerArchiveJob#partition()}). The conversion copies
+ * the whole table, so run it off-peak.
+ */
+@Component
+@Endpoint(id = "ledgerpartitions")
+@RequiredArgsConstructor
+public class LedgerPartitionEndpoint {
+
+    private final LedgerArchiveJob archiveJob;
+    private final LedgerArchiveRepository archiveRepository;
+
+    @ReadOperation
+    public List<String> partitions() {
+        return archiveRepository.partitions();
+    }
+
+    @WriteOperation
+    public List<String> partition() {
+        return archiveJob.partition();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record CreateLedgerBatchRequest(
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 5000, message = "At most 5000 items per batch")
+        List<LedgerBatchItemRequest> items
+) {
+}
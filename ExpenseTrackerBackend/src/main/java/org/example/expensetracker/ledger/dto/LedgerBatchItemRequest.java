@@ -0,0 +1,22 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+
+/**
+ * One item of a bulk create. {@code category} applies to expenses, {@code source} to incomes.
+ * Items are validated individually so one bad item doesn't reject the whole batch.
+ */
+public record LedgerBatchItemRequest(
+        LedgerEntryType kind,
+        String description,
+        ExpenseCategory category,
+        IncomeSource source,
+        BigDecimal amount,
+        LocalDate date
+) {
+}
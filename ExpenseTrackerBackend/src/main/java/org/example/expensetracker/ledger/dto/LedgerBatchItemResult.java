@@ -0,0 +1,12 @@
+package org.example.expensetracker.ledger.dto;
+
+/**
+ * Outcome of one batch item, by its position in the request. {@code id} is set when created, {@code error} when failed.
+ */
+public record LedgerBatchItemResult(
+        int index,
+        boolean created,
+        Long id,
+        String error
+) {
+}
@@ -0,0 +1,10 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+public record LedgerBatchResponse(
+        int created,
+        int failed,
+        List<LedgerBatchItemResult> results
+) {
+}
@@ -1,13 +1,14 @@
 package org.example.expensetracker.ledger.dto;
 
-import java.math.BigDecimal;
 import java.util.List;
 
+import org.example.expensetracker.ledger.money.Money;
+
 public record LedgerDashboardResponse(
         String monthKey,
-        BigDecimal monthIncome,
-        BigDecimal monthExpense,
-        BigDecimal monthPnl,
+        Money monthIncome,
+        Money monthExpense,
+        Money monthPnl,
         List<LedgerTrendPointResponse> trend,
         List<LedgerEntryResponse> recentExpenses
 ) {
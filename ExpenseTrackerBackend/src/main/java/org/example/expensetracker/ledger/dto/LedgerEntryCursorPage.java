@@ -0,0 +1,15 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset scroll. Pass {@code nextCursor} back as {@code cursor} to fetch the following page;
+ * it is null once the end is reached. No totals are computed.
+ */
+public record LedgerEntryCursorPage(
+        List<LedgerEntryResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,63 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * One page of GET /api/ledger/entries.
+ *
+ * Replaces the serialized Spring Data {@code PageImpl}, whose pageable/sort/empty metadata is verbose and not
+ * stable across Spring Data versions. {@code content} keeps its name, so clients reading only the rows are
+ * unaffected.
+ *
+ * In slice mode {@code hasNext} comes from fetching one row past the page, and {@code totalElements} is a cached
+ * count that may lag writes made on other instances; {@code approximateTotal} says which kind of page this is.
+ */
+@JsonSerialize(using = LedgerEntryPageJsonSerializer.class)
+public record LedgerEntryPage(
+        List<LedgerEntryResponse> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages,
+        boolean hasNext,
+        boolean approximateTotal
+) {
+
+    public static LedgerEntryPage of(Page<LedgerEntryResponse> page) {
+        return new LedgerEntryPage(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.hasNext(),
+                false
+        );
+    }
+
+    /**
+     * A slice with a separately obtained total, which is stretched to cover the rows the slice has seen. An empty
+     * slice has seen none, whatever its offset.
+     */
+    public static LedgerEntryPage of(Slice<LedgerEntryResponse> slice, long total, boolean approximate) {
+        long seen = slice.hasContent()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                : 0;
+        long safeTotal = Math.max(total, seen);
+        int size = slice.getSize();
+        return new LedgerEntryPage(
+                slice.getContent(),
+                slice.getNumber(),
+                size,
+                safeTotal,
+                (int) ((safeTotal + size - 1) / size),
+                slice.hasNext(),
+                approximate
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes {@link LedgerEntryPage} with its rows rendered directly by {@link LedgerEntryResponseJsonSerializer},
+ * skipping the per-element serializer lookup a list of records would otherwise go through.
+ */
+public class LedgerEntryPageJsonSerializer extends ValueSerializer<LedgerEntryPage> {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializableString APPROXIMATE_TOTAL = new SerializedString("approximateTotal");
+
+    @Override
+    public void serialize(LedgerEntryPage value, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeStartObject(value);
+
+        gen.writeName(CONTENT);
+        List<LedgerEntryResponse> content = value.content();
+        gen.writeStartArray(content, content.size());
+        for (LedgerEntryResponse e : content) {
+            LedgerEntryResponseJsonSerializer.write(e, gen);
+        }
+        gen.writeEndArray();
+
+        gen.writeName(PAGE);
+        gen.writeNumber(value.page());
+        gen.writeName(SIZE);
+        gen.writeNumber(value.size());
+        gen.writeName(TOTAL_ELEMENTS);
+        gen.writeNumber(value.totalElements());
+        gen.writeName(TOTAL_PAGES);
+        gen.writeNumber(value.totalPages());
+        gen.writeName(HAS_NEXT);
+        gen.writeBoolean(value.hasNext());
+        gen.writeName(APPROXIMATE_TOTAL);
+        gen.writeBoolean(value.approximateTotal());
+
+        gen.writeEndObject();
+    }
+}
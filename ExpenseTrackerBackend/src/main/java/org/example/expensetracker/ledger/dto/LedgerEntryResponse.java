@@ -1,19 +1,22 @@
 package org.example.expensetracker.ledger.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import org.example.expensetracker.ledger.entity.ExpenseCategory;
 import org.example.expensetracker.ledger.entity.IncomeSource;
 import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
 
+import tools.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = LedgerEntryResponseJsonSerializer.class)
 public record LedgerEntryResponse(
         Long id,
         LedgerEntryType kind,
         String description,
         ExpenseCategory category,
         IncomeSource source,
-        BigDecimal amount,
+        Money amount,
         LocalDate date
 ) {
 }
@@ -0,0 +1,97 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.function.Function;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes {@link LedgerEntryResponse} field by field instead of going through bean introspection. Entry lists
+ * are the largest responses the API produces.
+ *
+ * Field names and enum JSON values are pre-encoded {@link SerializedString}s, so each row only encodes its
+ * description. The output matches the default record serialization: nulls included, money as a scale-2
+ * number, dates as ISO-8601 strings.
+ */
+public class LedgerEntryResponseJsonSerializer extends ValueSerializer<LedgerEntryResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString KIND = new SerializedString("kind");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString SOURCE = new SerializedString("source");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString DATE = new SerializedString("date");
+
+    // Indexed by ordinal; each holds the enum's @JsonValue.
+    private static final SerializableString[] KINDS = values(LedgerEntryType.values(), LedgerEntryType::value);
+    private static final SerializableString[] CATEGORIES = values(ExpenseCategory.values(), ExpenseCategory::value);
+    private static final SerializableString[] SOURCES = values(IncomeSource.values(), IncomeSource::value);
+
+    @Override
+    public void serialize(LedgerEntryResponse value, JsonGenerator gen, SerializationContext ctxt) {
+        write(value, gen);
+    }
+
+    static void write(LedgerEntryResponse e, JsonGenerator gen) {
+        gen.writeStartObject(e);
+
+        gen.writeName(ID);
+        if (e.id() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(e.id());
+        }
+
+        gen.writeName(KIND);
+        writeEnum(gen, e.kind(), KINDS);
+
+        gen.writeName(DESCRIPTION);
+        gen.writeString(e.description());
+
+        gen.writeName(CATEGORY);
+        writeEnum(gen, e.category(), CATEGORIES);
+
+        gen.writeName(SOURCE);
+        writeEnum(gen, e.source(), SOURCES);
+
+        gen.writeName(AMOUNT);
+        if (e.amount() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(e.amount().toString());
+        }
+
+        gen.writeName(DATE);
+        if (e.date() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(e.date().toString());
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeEnum(JsonGenerator gen, Enum<?> value, SerializableString[] names) {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(names[value.ordinal()]);
+        }
+    }
+
+    private static <E extends Enum<E>> SerializableString[] values(E[] constants, Function<E, String> jsonValue) {
+        SerializableString[] values = new SerializableString[constants.length];
+        for (E c : constants) {
+            values[c.ordinal()] = new SerializedString(jsonValue.apply(c));
+        }
+        return values;
+    }
+}
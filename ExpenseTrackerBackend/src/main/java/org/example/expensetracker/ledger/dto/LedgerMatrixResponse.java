@@ -0,0 +1,19 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+
+/**
+ * Category x month totals for one entry type. {@code months} labels the columns ("2026-01", ...); every row
+ * has one amount per month, and every category (or source) of the type has a row, zero-filled when unused.
+ */
+public record LedgerMatrixResponse(
+        LedgerEntryType kind,
+        List<String> months,
+        List<LedgerMatrixRowResponse> rows,
+        List<Money> monthTotals,
+        Money total
+) {
+}
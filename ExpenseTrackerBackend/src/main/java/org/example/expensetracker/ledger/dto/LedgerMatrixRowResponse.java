@@ -0,0 +1,18 @@
+package org.example.expensetracker.ledger.dto;
+
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.money.Money;
+
+/**
+ * One matrix row: {@code category} is set for expense matrices, {@code source} for income ones.
+ */
+public record LedgerMatrixRowResponse(
+        ExpenseCategory category,
+        IncomeSource source,
+        List<Money> amounts,
+        Money total
+) {
+}
@@ -1,10 +1,10 @@
 package org.example.expensetracker.ledger.dto;
 
-import java.math.BigDecimal;
+import org.example.expensetracker.ledger.money.Money;
 
 public record LedgerSummaryResponse(
-        BigDecimal totalIncome,
-        BigDecimal totalExpense,
-        BigDecimal pnl
+        Money totalIncome,
+        Money totalExpense,
+        Money pnl
 ) {
 }
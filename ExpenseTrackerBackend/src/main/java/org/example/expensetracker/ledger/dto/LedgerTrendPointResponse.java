@@ -1,11 +1,11 @@
 package org.example.expensetracker.ledger.dto;
 
-import java.math.BigDecimal;
+import org.example.expensetracker.ledger.money.Money;
 
 public record LedgerTrendPointResponse(
         String month,
-        BigDecimal income,
-        BigDecimal expense,
-        BigDecimal net
+        Money income,
+        Money expense,
+        Money net
 ) {
 }
@@ -0,0 +1,71 @@
+package org.example.expensetracker.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.expensetracker.auth.entity.User;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link LedgerEntry} of a year past the retention horizon, moved out of LedgerEntries by the archive job.
+ *
+ * Rows keep their original id, so ids stay unique across both tables and keyset cursors work over either.
+ * The table is created with ROW_FORMAT=COMPRESSED by {@code LedgerArchiveRepository}; it is written only by
+ * the archive job and read only by user-scoped, date-ordered queries, hence the two indexes.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "LedgerEntriesArchive",
+        indexes = {
+                @Index(name = "idx_ledger_archive_user_date", columnList = "user_id,entry_date"),
+                @Index(name = "idx_ledger_archive_user_type_date", columnList = "user_id,entry_type,entry_date")
+        }
+)
+@Getter
+@NoArgsConstructor
+public class LedgerArchivedEntry {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType type;
+
+    @Column(nullable = false, length = 255)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "expense_category", length = 30)
+    private ExpenseCategory expenseCategory;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "income_source", length = 30)
+    private IncomeSource incomeSource;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Detached {@link LedgerEntry} view of this row, for code that merges archived and live entries.
+     */
+    public LedgerEntry toEntry() {
+        return new LedgerEntry(id, user, type, description, expenseCategory, incomeSource, amount, entryDate,
+                createdAt, updatedAt);
+    }
+}
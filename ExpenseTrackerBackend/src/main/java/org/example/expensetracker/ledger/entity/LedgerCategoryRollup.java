@@ -0,0 +1,70 @@
+package org.example.expensetracker.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.expensetracker.ledger.money.Money;
+import org.example.expensetracker.ledger.money.MoneyConverter;
+
+/**
+ * Per-user (type, month, category or source) totals of {@link LedgerEntry} rows: the cube behind the
+ * category x month matrix.
+ *
+ * Maintained alongside {@link LedgerMonthlyRollup} by the same write paths and transactions. The unique key
+ * leads with (user, type, period), so a matrix over any month range is one index range scan.
+ */
+@Entity
+@Table(
+        name = "LedgerCategoryRollups",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_category_rollup_user_type_period_tag",
+                        columnNames = {"user_id", "entry_type", "period", "tag"}
+                )
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerCategoryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType type;
+
+    /**
+     * Month encoded as yyyyMM, e.g. 202601.
+     */
+    @Column(nullable = false)
+    private int period;
+
+    /**
+     * {@link ExpenseCategory} name for expenses, {@link IncomeSource} name for incomes.
+     */
+    @Column(nullable = false, length = 30)
+    private String tag;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money total;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    /**
+     * The cube tag of an entry, or null when it has neither a category nor a source.
+     */
+    public static String tagOf(LedgerEntry entry) {
+        if (entry.getExpenseCategory() != null) return entry.getExpenseCategory().name();
+        if (entry.getIncomeSource() != null) return entry.getIncomeSource().name();
+        return null;
+    }
+}
@@ -13,9 +13,25 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "LedgerEntries",
+        // Designed around LedgerService.basePredicate x toSort; see LedgerEntryIndexCoverageTest.
+        // InnoDB appends the primary key to every secondary index, so an index whose last column is the last
+        // sort key also orders by id (the keyset tie-breaker).
         indexes = {
+                // Date sorts, with or without a type filter.
                 @Index(name = "idx_ledger_user_date", columnList = "user_id,entry_date"),
-                @Index(name = "idx_ledger_user_type", columnList = "user_id,entry_type")
+                @Index(name = "idx_ledger_user_type_date", columnList = "user_id,entry_type,entry_date"),
+                // Date-range summary aggregates (type + amount) without touching rows.
+                @Index(name = "idx_ledger_user_date_cover", columnList = "user_id,entry_date,entry_type,amount"),
+                // Category/source filters, and descending tag sorts read backwards (tag, date and id all desc).
+                @Index(name = "idx_ledger_user_category_date", columnList = "user_id,entry_type,expense_category,entry_date"),
+                @Index(name = "idx_ledger_user_source_date", columnList = "user_id,entry_type,income_source,entry_date"),
+                // Ascending tag sorts: tags ascending, newest first within a tag. The appended primary key would
+                // be ascending, so id is listed explicitly.
+                @Index(name = "idx_ledger_user_category_tag", columnList = "user_id,entry_type,expense_category,entry_date DESC,id DESC"),
+                @Index(name = "idx_ledger_user_source_tag", columnList = "user_id,entry_type,income_source,entry_date DESC,id DESC"),
+                // Amount sorts and amount-range filters.
+                @Index(name = "idx_ledger_user_amount", columnList = "user_id,amount"),
+                @Index(name = "idx_ledger_user_type_amount", columnList = "user_id,entry_type,amount")
         }
 )
 @Getter
@@ -29,8 +45,11 @@ public class LedgerEntry {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // No foreign key: MySQL allows none on a partitioned table (see LedgerArchiveRepository.partition), so the
+    // database does not check that user_id exists. Entries are only written for the authenticated user, whose
+    // account JwtAuthenticationFilter checked exists and is enabled, and users are never deleted.
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @Enumerated(EnumType.STRING)
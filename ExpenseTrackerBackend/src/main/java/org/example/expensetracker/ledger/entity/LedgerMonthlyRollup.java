@@ -0,0 +1,62 @@
+package org.example.expensetracker.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.expensetracker.ledger.money.Money;
+import org.example.expensetracker.ledger.money.MoneyConverter;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Pre-aggregated per-user, per-month, per-type totals of {@link LedgerEntry} rows.
+ *
+ * Maintained incrementally by the ledger write paths (same transaction as the entry itself),
+ * so trend reads touch at most one row per month and type instead of the raw entries.
+ */
+@Entity
+@Table(
+        name = "LedgerMonthlyRollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_user_period_type", columnNames = {"user_id", "period", "entry_type"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Month encoded as yyyyMM, e.g. 202601.
+     */
+    @Column(nullable = false)
+    private int period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType type;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money total;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    public static int periodOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int periodOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.expensetracker.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-user counter bumped by every ledger write, in the same transaction as the write.
+ *
+ * Anything derived from a user's ledger is current as long as this number has not moved, which is what the
+ * ETags on the ledger read endpoints are built from. Users who never wrote have no row (version 0).
+ *
+ * The history version only moves for writes dated before the current month, so data derived from closed months
+ * (the columnar segments) stays valid through the everyday current-month writes.
+ */
+@Entity
+@Table(name = "LedgerVersions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "history_version", nullable = false)
+    private long historyVersion;
+}
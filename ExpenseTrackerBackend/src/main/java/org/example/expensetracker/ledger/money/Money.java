@@ -0,0 +1,104 @@
+package org.example.expensetracker.ledger.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable money amount held as a long of minor units (cents), matching the scale of the DECIMAL(19,2)
+ * ledger columns. The range is about +/-92 quadrillion; conversions and arithmetic past it throw
+ * ArithmeticException rather than wrap.
+ *
+ * Used for all in-memory aggregation (summary, trend, dashboard, rollups) so totals and P&L are plain
+ * long arithmetic instead of a BigDecimal allocation per add/subtract. On the wire it is written as the
+ * same JSON number a scale-2 BigDecimal would produce, e.g. 1234.50.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount, rounding half-up to cents the same way MySQL does when storing DECIMAL(19,2).
+     * A null amount (e.g. SUM over no rows) is treated as zero.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return other.cents == 0 ? this : ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return other.cents == 0 ? this : ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Plain decimal form with exactly two fraction digits, e.g. "-0.05" or "1234.50".
+     */
+    @Override
+    public String toString() {
+        long units = cents / 100;
+        int fraction = (int) Math.abs(cents % 100);
+
+        StringBuilder sb = new StringBuilder(24);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        sb.append(Math.abs(units)).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
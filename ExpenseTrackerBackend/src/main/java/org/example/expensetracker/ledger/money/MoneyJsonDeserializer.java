@@ -0,0 +1,18 @@
+package org.example.expensetracker.ledger.money;
+
+import java.math.BigDecimal;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Reads {@link Money} from anything Jackson accepts as a BigDecimal (number or numeric string).
+ */
+public class MoneyJsonDeserializer extends ValueDeserializer<Money> {
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) {
+        return Money.of(ctxt.readValue(p, BigDecimal.class));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.expensetracker.ledger.money;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes {@link Money} as a JSON number ("1234.50"), the same output as a scale-2 BigDecimal.
+ */
+public class MoneyJsonSerializer extends ValueSerializer<Money> {
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeNumber(value.toString());
+    }
+}
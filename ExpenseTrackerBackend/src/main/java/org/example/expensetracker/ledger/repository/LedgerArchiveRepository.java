@@ -0,0 +1,161 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC side of ledger archival: moving rows from {@value #LIVE} to {@value #ARCHIVE}, and the MySQL DDL that
+ * keeps {@value #LIVE} range-partitioned by entry_date.
+ *
+ * The partition layout is one catch-all {@value #COLD} partition below the retention horizon, one
+ * {@code pYYYY} partition per live year and a {@value #FUTURE} partition for anything later. MySQL requires
+ * the partitioning column in every unique key and allows no foreign keys on a partitioned table, so the
+ * primary key becomes (id, entry_date) and any user foreign key left by older schemas is dropped; the entity
+ * maps none, so schema updates don't add it back. Statements run on the caller's transaction/connection; note
+ * that MySQL commits implicitly around DDL.
+ *
+ * Table names are the physical ones Hibernate's default snake_case naming gives the entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerArchiveRepository {
+
+    public static final String COLD = "p_cold";
+    public static final String FUTURE = "p_future";
+
+    private static final String LIVE = "ledger_entries";
+    private static final String ARCHIVE = "ledger_entries_archive";
+
+    private static final String COLUMNS =
+            "id, user_id, entry_type, description, expense_category, income_source, amount, entry_date, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves up to {@code limit} entries dated before {@code before} into the archive, lowest ids first, and
+     * locks them while doing so. Must run inside a transaction.
+     *
+     * @return the number of entries moved; 0 once nothing is left to archive
+     */
+    public int moveBefore(LocalDate before, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from " + LIVE + " where entry_date < ? order by id limit ? for update",
+                Long.class, before, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // entry_date is repeated so both statements prune to the cold partitions.
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids);
+        args.add(before);
+
+        int copied = jdbcTemplate.update(
+                "insert into " + ARCHIVE + " (" + COLUMNS + ") select " + COLUMNS
+                        + " from " + LIVE + " where id in (" + in + ") and entry_date < ?",
+                args.toArray());
+        int deleted = jdbcTemplate.update(
+                "delete from " + LIVE + " where id in (" + in + ") and entry_date < ?",
+                args.toArray());
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " ledger entries but deleted " + deleted);
+        }
+        return deleted;
+    }
+
+    public boolean hasArchivedEntries() {
+        return !jdbcTemplate.queryForList("select 1 from " + ARCHIVE + " limit 1", Integer.class).isEmpty();
+    }
+
+    /**
+     * Switches the archive table to compressed pages. A no-op once it is; cheap while the table is still empty.
+     */
+    public void compressArchive() {
+        String format = jdbcTemplate.queryForObject("""
+                        select row_format from information_schema.tables
+                        where table_schema = database() and lower(table_name) = ?
+                        """, String.class, ARCHIVE);
+        if (!"Compressed".equalsIgnoreCase(format)) {
+            jdbcTemplate.execute("alter table " + ARCHIVE + " row_format=compressed key_block_size=8");
+        }
+    }
+
+    /**
+     * Names of the current {@value #LIVE} partitions in range order; empty when the table is not partitioned.
+     */
+    public List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                        select partition_name from information_schema.partitions
+                        where table_schema = database() and lower(table_name) = ?
+                          and partition_name is not null
+                        order by partition_ordinal_position
+                        """, String.class, LIVE);
+    }
+
+    /**
+     * Converts the unpartitioned table: drops its foreign keys, widens the primary key and partitions it with
+     * the cold partition below {@code horizon} and one partition per year up to and including {@code lastYear}.
+     * Copies the whole table.
+     */
+    public void partition(LocalDate horizon, int lastYear) {
+        List<String> foreignKeys = jdbcTemplate.queryForList("""
+                        select constraint_name from information_schema.table_constraints
+                        where table_schema = database() and lower(table_name) = ?
+                          and constraint_type = 'FOREIGN KEY'
+                        """, String.class, LIVE);
+        for (String fk : foreignKeys) {
+            jdbcTemplate.execute("alter table " + LIVE + " drop foreign key `" + fk + "`");
+        }
+
+        jdbcTemplate.execute("alter table " + LIVE + " drop primary key, add primary key (id, entry_date)");
+
+        List<String> parts = new ArrayList<>();
+        parts.add(lessThan(COLD, horizon));
+        parts.addAll(years(horizon.getYear(), lastYear));
+        parts.add("partition " + FUTURE + " values less than (maxvalue)");
+        jdbcTemplate.execute("alter table " + LIVE + " partition by range columns(entry_date) ("
+                + String.join(", ", parts) + ")");
+    }
+
+    /**
+     * Folds the given (already archived, so normally empty) year partitions into the cold partition, which then
+     * ends at {@code horizon}. Rows still in them are kept.
+     */
+    public void foldIntoCold(List<String> yearPartitions, LocalDate horizon) {
+        jdbcTemplate.execute("alter table " + LIVE + " reorganize partition " + COLD + ", "
+                + String.join(", ", yearPartitions) + " into (" + lessThan(COLD, horizon) + ")");
+    }
+
+    /**
+     * Splits yearly partitions {@code fromYear..toYear} off the front of the future partition.
+     */
+    public void addYears(int fromYear, int toYear) {
+        List<String> parts = new ArrayList<>(years(fromYear, toYear));
+        parts.add("partition " + FUTURE + " values less than (maxvalue)");
+        jdbcTemplate.execute("alter table " + LIVE + " reorganize partition " + FUTURE + " into ("
+                + String.join(", ", parts) + ")");
+    }
+
+    public static String yearPartition(int year) {
+        return "p" + year;
+    }
+
+    private static List<String> years(int fromYear, int toYear) {
+        List<String> parts = new ArrayList<>();
+        for (int y = fromYear; y <= toYear; y++) {
+            parts.add(lessThan(yearPartition(y), LocalDate.of(y + 1, 1, 1)));
+        }
+        return parts;
+    }
+
+    private static String lessThan(String name, LocalDate bound) {
+        return "partition " + name + " values less than ('" + bound + "')";
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.LedgerArchivedEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerArchivedEntryRepository extends JpaRepository<LedgerArchivedEntry, Long> {
+
+		/**
+		 * Archived counterpart of {@link LedgerEntryRepository#findMonthlyTotals}; rollups cover both tables.
+		 */
+		@Query("""
+						select
+							year(e.entryDate) as y,
+							month(e.entryDate) as m,
+							e.type as type,
+							sum(e.amount) as total,
+							count(e) as entryCount
+						from LedgerArchivedEntry e
+						where e.user.id = :userId
+						group by year(e.entryDate), month(e.entryDate), e.type
+						""")
+		List<LedgerEntryRepository.MonthlyTotalRow> findMonthlyTotals(@Param("userId") Long userId);
+
+		/**
+		 * Archived counterpart of {@link LedgerEntryRepository#findCategoryMonthlyTotals}.
+		 */
+		@Query("""
+						select
+							year(e.entryDate) as y,
+							month(e.entryDate) as m,
+							e.type as type,
+							e.expenseCategory as category,
+							e.incomeSource as source,
+							sum(e.amount) as total,
+							count(e) as entryCount
+						from LedgerArchivedEntry e
+						where e.user.id = :userId
+						group by year(e.entryDate), month(e.entryDate), e.type, e.expenseCategory, e.incomeSource
+						""")
+		List<LedgerEntryRepository.CategoryMonthlyTotalRow> findCategoryMonthlyTotals(@Param("userId") Long userId);
+
+		@Query("select distinct e.user.id from LedgerArchivedEntry e")
+		List<Long> findDistinctUserIds();
+}
@@ -0,0 +1,55 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.LedgerCategoryRollup;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerCategoryRollupRepository extends JpaRepository<LedgerCategoryRollup, Long> {
+
+    List<LedgerCategoryRollup> findByUserIdAndTypeAndPeriodBetween(
+            Long userId,
+            LedgerEntryType type,
+            int fromPeriod,
+            int toPeriod
+    );
+
+    List<LedgerCategoryRollup> findByUserId(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    /**
+     * Atomically adds a delta to the (user, type, period, tag) cell, creating it on first use.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into ledger_category_rollups (user_id, entry_type, period, tag, total, entry_count)
+            values (:userId, :type, :period, :tag, :amount, :count)
+            on duplicate key update
+                total = total + :amount,
+                entry_count = entry_count + :count
+            """)
+    void applyDelta(
+            @Param("userId") Long userId,
+            @Param("type") String type,
+            @Param("period") int period,
+            @Param("tag") String tag,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Locks the user's cells, and the gap new ones would be inserted into, until the transaction ends.
+     */
+    @Query(nativeQuery = true, value = "select id from ledger_category_rollups where user_id = :userId for update")
+    List<Long> lockByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from LedgerCategoryRollup r where r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
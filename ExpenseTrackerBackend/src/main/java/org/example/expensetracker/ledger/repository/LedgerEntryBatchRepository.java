@@ -0,0 +1,89 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch insert for ledger entries.
+ *
+ * Hibernate can't batch inserts for IDENTITY ids (it needs each generated key before the next insert), so bulk
+ * writes go through a single prepared statement executed as a JDBC batch. With
+ * {@code rewriteBatchedStatements=true} Connector/J sends each chunk as one multi-row INSERT and still
+ * returns every generated id. Runs on the caller's transaction/connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerEntryBatchRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            insert into ledger_entries
+                (user_id, entry_type, description, expense_category, income_source, amount, entry_date, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all entries and writes the generated ids back onto them, in order.
+     */
+    public void insertAll(List<LedgerEntry> entries) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<LedgerEntry> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            LedgerEntry e = chunk.get(i);
+                            ps.setLong(1, e.getUser().getId());
+                            ps.setString(2, e.getType().name());
+                            ps.setString(3, e.getDescription());
+                            if (e.getExpenseCategory() == null) ps.setNull(4, Types.VARCHAR);
+                            else ps.setString(4, e.getExpenseCategory().name());
+                            if (e.getIncomeSource() == null) ps.setNull(5, Types.VARCHAR);
+                            else ps.setString(5, e.getIncomeSource().name());
+                            ps.setBigDecimal(6, e.getAmount());
+                            ps.setObject(7, e.getEntryDate());
+                            ps.setTimestamp(8, now);
+                            ps.setTimestamp(9, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys
+            );
+
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            if (keyList.size() != chunk.size()) {
+                throw new IllegalStateException("Expected " + chunk.size() + " generated ids, got " + keyList.size());
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                Number id = (Number) keyList.get(i).values().iterator().next();
+                chunk.get(i).setId(id.longValue());
+            }
+        }
+    }
+}
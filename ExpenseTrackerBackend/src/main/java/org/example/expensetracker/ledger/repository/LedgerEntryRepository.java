@@ -1,10 +1,12 @@
 package org.example.expensetracker.ledger.repository;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
 import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -12,32 +14,59 @@ import org.springframework.data.repository.query.Param;
 
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>, JpaSpecificationExecutor<LedgerEntry> {
 
-		interface MonthlyTrendRow {
+		interface MonthlyTotalRow {
 				Integer getY();
 
 				Integer getM();
 
-				BigDecimal getIncome();
+				LedgerEntryType getType();
 
-				BigDecimal getExpense();
+				BigDecimal getTotal();
+
+				Long getEntryCount();
 		}
 
+		/**
+		 * Recomputes per-month, per-type totals from raw entries. Only used to rebuild/verify rollups.
+		 */
 		@Query("""
 						select
 							year(e.entryDate) as y,
 							month(e.entryDate) as m,
-							sum(case when e.type = org.example.expensetracker.ledger.entity.LedgerEntryType.INCOME then e.amount else 0 end) as income,
-							sum(case when e.type = org.example.expensetracker.ledger.entity.LedgerEntryType.EXPENSE then e.amount else 0 end) as expense
+							e.type as type,
+							sum(e.amount) as total,
+							count(e) as entryCount
 						from LedgerEntry e
 						where e.user.id = :userId
-							and e.entryDate >= :from
-							and e.entryDate <= :to
-						group by year(e.entryDate), month(e.entryDate)
-						order by year(e.entryDate), month(e.entryDate)
+						group by year(e.entryDate), month(e.entryDate), e.type
 						""")
-		List<MonthlyTrendRow> findMonthlyTrend(
-						@Param("userId") Long userId,
-						@Param("from") LocalDate from,
-						@Param("to") LocalDate to
-		);
+		List<MonthlyTotalRow> findMonthlyTotals(@Param("userId") Long userId);
+
+		interface CategoryMonthlyTotalRow extends MonthlyTotalRow {
+				ExpenseCategory getCategory();
+
+				IncomeSource getSource();
+		}
+
+		/**
+		 * Recomputes per-month, per-type, per-category/source totals from raw entries. Only used to
+		 * rebuild/verify the category rollups.
+		 */
+		@Query("""
+						select
+							year(e.entryDate) as y,
+							month(e.entryDate) as m,
+							e.type as type,
+							e.expenseCategory as category,
+							e.incomeSource as source,
+							sum(e.amount) as total,
+							count(e) as entryCount
+						from LedgerEntry e
+						where e.user.id = :userId
+						group by year(e.entryDate), month(e.entryDate), e.type, e.expenseCategory, e.incomeSource
+						""")
+		List<CategoryMonthlyTotalRow> findCategoryMonthlyTotals(@Param("userId") Long userId);
+
+		@Query("select distinct e.user.id from LedgerEntry e")
+		List<Long> findDistinctUserIds();
 }
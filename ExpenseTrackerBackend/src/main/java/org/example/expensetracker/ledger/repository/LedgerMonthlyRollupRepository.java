@@ -0,0 +1,52 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.LedgerMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerMonthlyRollupRepository extends JpaRepository<LedgerMonthlyRollup, Long> {
+
+    List<LedgerMonthlyRollup> findByUserIdAndPeriodBetweenOrderByPeriod(Long userId, int fromPeriod, int toPeriod);
+
+    List<LedgerMonthlyRollup> findByUserIdOrderByPeriod(Long userId);
+
+    boolean existsByUserId(Long userId);
+
+    /**
+     * Atomically adds a delta to the (user, period, type) bucket, creating it on first use.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into ledger_monthly_rollups (user_id, period, entry_type, total, entry_count)
+            values (:userId, :period, :type, :amount, :count)
+            on duplicate key update
+                total = total + :amount,
+                entry_count = entry_count + :count
+            """)
+    void applyDelta(
+            @Param("userId") Long userId,
+            @Param("period") int period,
+            @Param("type") String type,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Locks the user's buckets, and the gap new ones would be inserted into, until the transaction ends, so no
+     * {@link #applyDelta} for the user can run meanwhile.
+     */
+    @Query(nativeQuery = true, value = "select id from ledger_monthly_rollups where user_id = :userId for update")
+    List<Long> lockByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from LedgerMonthlyRollup r where r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Query("select distinct r.userId from LedgerMonthlyRollup r")
+    List<Long> findDistinctUserIds();
+}
@@ -0,0 +1,30 @@
+package org.example.expensetracker.ledger.repository;
+
+import java.util.Optional;
+
+import org.example.expensetracker.ledger.entity.LedgerVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerVersionRepository extends JpaRepository<LedgerVersion, Long> {
+
+    /**
+     * Atomically increments the user's version, and their history version by {@code history} (0 or 1),
+     * creating the row on first use.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into ledger_versions (user_id, version, history_version)
+            values (:userId, 1, :history)
+            on duplicate key update version = version + 1, history_version = history_version + :history
+            """)
+    void bump(@Param("userId") Long userId, @Param("history") int history);
+
+    @Query("select v.version from LedgerVersion v where v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+
+    @Query("select v.historyVersion from LedgerVersion v where v.userId = :userId")
+    Optional<Long> findHistoryVersion(@Param("userId") Long userId);
+}
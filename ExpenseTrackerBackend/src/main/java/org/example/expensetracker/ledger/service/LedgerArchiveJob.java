@@ -0,0 +1,116 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.expensetracker.ledger.config.LedgerArchiveProperties;
+import org.example.expensetracker.ledger.repository.LedgerArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves entries past the retention horizon into the archive, then keeps the ledger_entries partitions rolling:
+ * archived years are folded into the cold partition and yearly partitions are added ahead of time.
+ *
+ * Archiving runs first so the years being folded are already empty and the reorganize copies nothing.
+ * Rollups are left alone; they keep counting archived entries, so trend and matrix don't change.
+ *
+ * Converting the unpartitioned table copies all of it, so it is never done on a schedule or at startup; an
+ * operator runs {@link #partition()} once, through the {@code ledgerpartitions} actuator endpoint. Until then
+ * the job archives but leaves the table alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerArchiveJob.class);
+
+    private final LedgerArchiveService archiveService;
+    private final LedgerArchiveRepository archiveRepository;
+    private final LedgerArchiveProperties props;
+
+    /**
+     * One-time conversion: compresses the archive table and range-partitions ledger_entries. A no-op for
+     * whatever was already done.
+     *
+     * @return the ledger_entries partitions afterwards
+     */
+    public List<String> partition() {
+        if (!props.isEnabled() || !props.isPartitioningEnabled()) {
+            throw new IllegalStateException("Ledger archiving and partitioning are not both enabled");
+        }
+
+        archiveRepository.compressArchive();
+        if (archiveRepository.partitions().isEmpty()) {
+            LocalDate horizon = archiveService.horizon();
+            int lastYear = Year.now().getValue() + props.getPartitionYearsAhead();
+            log.info("Partitioning ledger_entries by entry_date ({} to {})", horizon.getYear(), lastYear);
+            archiveRepository.partition(horizon, lastYear);
+        }
+        return archiveRepository.partitions();
+    }
+
+    @Scheduled(cron = "${app.ledger.archive.cron:0 0 4 * * *}")
+    public void run() {
+        if (!props.isEnabled()) return;
+
+        long moved = 0;
+        int batch;
+        do {
+            batch = archiveService.archiveBatch();
+            moved += batch;
+        } while (batch > 0);
+        if (moved > 0) {
+            log.info("Archived {} ledger entries dated before {}", moved, archiveService.horizon());
+        }
+
+        maintainPartitions();
+    }
+
+    private void maintainPartitions() {
+        if (!props.isPartitioningEnabled()) return;
+
+        LocalDate horizon = archiveService.horizon();
+        int lastYear = Year.now().getValue() + props.getPartitionYearsAhead();
+
+        try {
+            List<String> partitions = archiveRepository.partitions();
+            if (partitions.isEmpty()) {
+                log.warn("ledger_entries is not partitioned yet; POST /actuator/ledgerpartitions to convert it");
+                return;
+            }
+            if (!partitions.get(0).equals(LedgerArchiveRepository.COLD)
+                    || !partitions.get(partitions.size() - 1).equals(LedgerArchiveRepository.FUTURE)) {
+                log.warn("ledger_entries has an unexpected partition layout {}; leaving it alone", partitions);
+                return;
+            }
+
+            List<String> expired = new ArrayList<>();
+            for (int y = horizon.getYear() - 1; partitions.contains(LedgerArchiveRepository.yearPartition(y)); y--) {
+                expired.add(0, LedgerArchiveRepository.yearPartition(y));
+            }
+            if (!expired.isEmpty()) {
+                archiveRepository.foldIntoCold(expired, horizon);
+                log.info("Folded ledger partitions {} into {}", expired, LedgerArchiveRepository.COLD);
+            }
+
+            // Yearly partitions are contiguous, so the one before the future partition is the latest.
+            String latest = partitions.get(partitions.size() - 2);
+            int next = latest.equals(LedgerArchiveRepository.COLD)
+                    ? horizon.getYear()
+                    : Math.max(Integer.parseInt(latest.substring(1)) + 1, horizon.getYear());
+            if (next <= lastYear) {
+                archiveRepository.addYears(next, lastYear);
+                log.info("Added ledger partitions for {} to {}", next, lastYear);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not maintain ledger_entries partitions", ex);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+import org.example.expensetracker.ledger.config.LedgerArchiveProperties;
+import org.example.expensetracker.ledger.repository.LedgerArchiveRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Where the line between live and archived ledger entries runs, and the transactional archive step.
+ *
+ * Entries dated before {@link #horizon()} belong in the archive table; read paths only look there when a
+ * filter reaches below the horizon, so dated recent-data reads stay on the live table alone. Reads without a
+ * start date (the default list) do reach the archive: offset pages over both tables stop at
+ * {@code max-merged-offset}, past which the keyset scroll is the way through.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerArchiveService {
+
+    private final LedgerArchiveProperties props;
+    private final LedgerArchiveRepository archiveRepository;
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * First day kept live: January 1st, {@code retainYears} years before the current one.
+     */
+    public LocalDate horizon() {
+        return LocalDate.of(Year.now().getValue() - props.getRetainYears(), 1, 1);
+    }
+
+    /**
+     * @return true when archived entries may match {@code filter}, i.e. its date range starts before the horizon
+     */
+    public boolean reaches(LedgerFilter filter) {
+        return props.isEnabled() && (filter.dateFrom() == null || filter.dateFrom().isBefore(horizon()));
+    }
+
+    /**
+     * Rejects offset pages too deep to merge across both tables.
+     */
+    public void checkMergedOffset(long offset) {
+        if (offset > props.getMaxMergedOffset()) {
+            throw new IllegalArgumentException("Pages past entry " + props.getMaxMergedOffset()
+                    + " span the archive; use /api/ledger/entries/scroll");
+        }
+    }
+
+    /**
+     * Archived entries are only read while archiving is enabled. Turning it off with entries still archived
+     * would drop them from every read without an error, so refuse to start instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkArchiveReads() {
+        if (!props.isEnabled() && archiveRepository.hasArchivedEntries()) {
+            throw new IllegalStateException("ledger_entries_archive holds entries, which app.ledger.archive.enabled=false"
+                    + " would hide from every read; keep archiving enabled");
+        }
+    }
+
+    /**
+     * Moves one batch of entries dated before the horizon into the archive.
+     *
+     * @return entries moved; 0 when the live table holds nothing older than the horizon
+     */
+    @Transactional
+    public int archiveBatch() {
+        return archiveRepository.moveBefore(horizon(), props.getBatchSize());
+    }
+}
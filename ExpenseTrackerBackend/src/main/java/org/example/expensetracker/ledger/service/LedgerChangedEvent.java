@@ -0,0 +1,7 @@
+package org.example.expensetracker.ledger.service;
+
+/**
+ * Published by the ledger write paths whenever a user's entries change.
+ */
+public record LedgerChangedEvent(Long userId) {
+}
@@ -0,0 +1,48 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort it was issued for plus the sort-key values and id of the last row returned.
+ * Encoded as URL-safe base64 so clients treat it as a token rather than something to build by hand.
+ */
+record LedgerCursor(String sort, LocalDate entryDate, BigDecimal amount, String tag, long id) {
+
+    private static final String VERSION = "v1";
+    private static final String SEP = "|";
+
+    String encode() {
+        String raw = String.join(SEP,
+                VERSION,
+                sort,
+                Long.toString(entryDate.toEpochDay()),
+                amount.toPlainString(),
+                tag == null ? "" : tag,
+                Long.toString(id)
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LedgerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new LedgerCursor(
+                    parts[1],
+                    LocalDate.ofEpochDay(Long.parseLong(parts[2])),
+                    new BigDecimal(parts[3]),
+                    parts[4].isEmpty() ? null : parts[4],
+                    Long.parseLong(parts[5])
+            );
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            // NumberFormatException is an IllegalArgumentException too.
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
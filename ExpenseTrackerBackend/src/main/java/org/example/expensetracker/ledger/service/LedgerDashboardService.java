@@ -0,0 +1,126 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.datasource.ReplicaRoutingContext;
+import org.example.expensetracker.datasource.StatementStats;
+import org.example.expensetracker.ledger.config.LedgerDashboardProperties;
+import org.example.expensetracker.ledger.dto.LedgerDashboardResponse;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerSummaryResponse;
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the dashboard by running its three reads concurrently.
+ *
+ * The user is resolved once on the request thread (the security context does not follow us onto the
+ * worker threads). Each component then goes through the {@link LedgerService} proxy on its own virtual
+ * thread, so it gets its own read-only transaction and connection, and the page costs roughly the
+ * slowest query instead of the sum of all three. Summary and trend go through the result cache first.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerDashboardService {
+
+    private final LedgerService ledgerService;
+    private final LedgerReadService ledgerReadService;
+    private final SecurityUtils securityUtils;
+    private final ExecutorService ledgerDashboardExecutor;
+    private final LedgerDashboardProperties props;
+    private final MeterRegistry meterRegistry;
+
+    public LedgerDashboardResponse dashboard(int trendMonths, int recentSize) {
+        int safeTrendMonths = Math.min(Math.max(trendMonths, 1), 36);
+        int safeRecentSize = Math.min(Math.max(recentSize, 1), 50);
+
+        YearMonth now = YearMonth.now();
+        String monthKey = String.format("%04d-%02d", now.getYear(), now.getMonthValue());
+        LocalDate from = now.atDay(1);
+        LocalDate to = now.atEndOfMonth();
+
+        Long userId = securityUtils.getCurrentUserId();
+
+        Timer.Sample total = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Future<LedgerSummaryResponse> summaryF = submit("summary",
+                    () -> ledgerReadService.summaryFor(userId, new LedgerFilter(null, null, null, from, to, null, null)));
+            Future<List<LedgerTrendPointResponse>> trendF = submit("trend",
+                    () -> ledgerReadService.trendFor(userId, safeTrendMonths));
+            Future<List<LedgerEntryResponse>> recentF = submit("recent",
+                    () -> ledgerService.scrollFor(
+                            userId,
+                            new LedgerFilter(LedgerEntryType.EXPENSE, null, null, null, null, null, null),
+                            "date",
+                            "desc",
+                            null,
+                            safeRecentSize
+                    ).content());
+
+            long deadline = System.nanoTime() + props.getComponentTimeout().toNanos();
+            List<Future<?>> all = List.of(summaryF, trendF, recentF);
+
+            LedgerSummaryResponse monthSummary = await("summary", summaryF, deadline, all);
+            List<LedgerTrendPointResponse> points = await("trend", trendF, deadline, all);
+            List<LedgerEntryResponse> recent = await("recent", recentF, deadline, all);
+
+            return new LedgerDashboardResponse(
+                    monthKey,
+                    monthSummary.totalIncome(),
+                    monthSummary.totalExpense(),
+                    monthSummary.pnl(),
+                    points,
+                    recent
+            );
+        } catch (RuntimeException ex) {
+            outcome = ex instanceof ResponseStatusException rse && rse.getStatusCode() == SERVICE_UNAVAILABLE
+                    ? "timeout"
+                    : "error";
+            throw ex;
+        } finally {
+            total.stop(meterRegistry.timer("ledger.dashboard", "outcome", outcome));
+        }
+    }
+
+    private <T> Future<T> submit(String component, Callable<T> task) {
+        Timer timer = meterRegistry.timer("ledger.dashboard.component", "component", component);
+        // Keep the caller's primary/replica routing (read-your-writes pin) and statement accounting on the worker thread.
+        Callable<T> routed = StatementStats.propagate(ReplicaRoutingContext.propagate(task));
+        return ledgerDashboardExecutor.submit(() -> timer.recordCallable(routed));
+    }
+
+    private static <T> T await(String component, Future<T> future, long deadlineNanos, List<Future<?>> all) {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            all.forEach(f -> f.cancel(true));
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Dashboard " + component + " timed out");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            all.forEach(f -> f.cancel(true));
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Dashboard interrupted");
+        } catch (ExecutionException ex) {
+            all.forEach(f -> f.cancel(true));
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Dashboard " + component + " failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.expensetracker.ledger.service;
+
+public enum LedgerExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String value;
+    private final String contentType;
+
+    LedgerExportFormat(String value, String contentType) {
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static LedgerExportFormat from(String raw) {
+        if (raw == null) return CSV;
+        String v = raw.trim().toLowerCase();
+        if (v.equals("json") || v.equals("jsonl")) return NDJSON;
+        for (LedgerExportFormat f : values()) {
+            if (f.value.equals(v)) return f;
+        }
+        throw new IllegalArgumentException("Invalid export format: " + raw);
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.expensetracker.ledger.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerArchivedEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams a user's full (filtered) ledger history as CSV or NDJSON.
+ *
+ * Rows are read through a forward-only MySQL streaming result set as scalar tuples (nothing enters the
+ * persistence context) and written straight to the response, so heap use doesn't grow with the number of entries.
+ * Archived entries are included when the filter reaches below the archive horizon, in the same date order.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final Comparator<Tuple> BY_DATE_THEN_ID = Comparator
+            .comparing((Tuple t) -> t.get(6, LocalDate.class))
+            .thenComparing(t -> t.get(0, Long.class));
+
+    private final SecurityUtils securityUtils;
+    private final EntityManager entityManager;
+    private final LedgerArchiveService archive;
+
+    @Transactional(readOnly = true)
+    public void export(LedgerFilter filter, LedgerExportFormat format, OutputStream out) throws IOException {
+        Long userId = securityUtils.getCurrentUserId();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == LedgerExportFormat.CSV) {
+            writer.write("id,kind,description,category,source,amount,date\n");
+        }
+
+        RowWriter rows = new RowWriter(writer, format);
+        LocalDate liveFrom = null;
+        if (archive.reaches(filter)) {
+            // Connector/J allows one open streaming result per connection, so the tables are streamed one after
+            // the other. Live rows below the horizon (backdated writes the archive job hasn't moved yet) are
+            // few; they are read up front and merged into the archive stream to keep the date order.
+            LocalDate horizon = archive.horizon();
+            List<Tuple> stragglers = query(LedgerEntry.class, userId, filter, null, horizon).getResultList();
+            Iterator<Tuple> pending = stragglers.iterator();
+            Tuple next = pending.hasNext() ? pending.next() : null;
+
+            try (Stream<Tuple> archived = stream(query(LedgerArchivedEntry.class, userId, filter, null, horizon))) {
+                Iterator<Tuple> it = archived.iterator();
+                while (it.hasNext()) {
+                    Tuple t = it.next();
+                    while (next != null && BY_DATE_THEN_ID.compare(next, t) < 0) {
+                        rows.write(next);
+                        next = pending.hasNext() ? pending.next() : null;
+                    }
+                    rows.write(t);
+                }
+            }
+            while (next != null) {
+                rows.write(next);
+                next = pending.hasNext() ? pending.next() : null;
+            }
+            liveFrom = horizon;
+        }
+
+        try (Stream<Tuple> live = stream(query(LedgerEntry.class, userId, filter, liveFrom, null))) {
+            Iterator<Tuple> it = live.iterator();
+            while (it.hasNext()) {
+                rows.write(it.next());
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * The export columns of {@code entity} matching the filter, further limited to {@code from <= date < before}
+     * where given, in date then id order.
+     */
+    private TypedQuery<Tuple> query(Class<?> entity, Long userId, LedgerFilter filter, LocalDate from, LocalDate before) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<?> root = cq.from(entity);
+
+        Predicate where = LedgerService.basePredicate(cb, root, userId, filter);
+        if (from != null) {
+            where = cb.and(where, cb.greaterThanOrEqualTo(root.get("entryDate"), from));
+        }
+        if (before != null) {
+            where = cb.and(where, cb.lessThan(root.get("entryDate"), before));
+        }
+
+        cq.select(cb.tuple(
+                root.get("id"),
+                root.get("type"),
+                root.get("description"),
+                root.get("expenseCategory"),
+                root.get("incomeSource"),
+                root.get("amount"),
+                root.get("entryDate")
+        )).where(where)
+                .orderBy(cb.asc(root.get("entryDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(cq);
+    }
+
+    private static Stream<Tuple> stream(TypedQuery<Tuple> query) {
+        return query
+                // Integer.MIN_VALUE makes Connector/J stream rows one by one instead of buffering the result set.
+                .setHint("org.hibernate.fetchSize", Integer.MIN_VALUE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    /**
+     * Writes rows in the requested format, flushing every {@value #FLUSH_EVERY_ROWS} rows.
+     */
+    private static final class RowWriter {
+
+        private final Writer writer;
+        private final LedgerExportFormat format;
+        private int written;
+
+        RowWriter(Writer writer, LedgerExportFormat format) {
+            this.writer = writer;
+            this.format = format;
+        }
+
+        void write(Tuple t) throws IOException {
+            Long id = t.get(0, Long.class);
+            LedgerEntryType type = t.get(1, LedgerEntryType.class);
+            String description = t.get(2, String.class);
+            ExpenseCategory category = t.get(3, ExpenseCategory.class);
+            IncomeSource source = t.get(4, IncomeSource.class);
+            BigDecimal amount = t.get(5, BigDecimal.class);
+            LocalDate date = t.get(6, LocalDate.class);
+
+            if (format == LedgerExportFormat.CSV) {
+                writeCsvRow(writer, id, type, description, category, source, amount, date);
+            } else {
+                writeJsonRow(writer, id, type, description, category, source, amount, date);
+            }
+
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static void writeCsvRow(Writer w, Long id, LedgerEntryType type, String description,
+                                    ExpenseCategory category, IncomeSource source, BigDecimal amount, LocalDate date) throws IOException {
+        w.write(Long.toString(id));
+        w.write(',');
+        w.write(type.value());
+        w.write(',');
+        writeCsvField(w, description);
+        w.write(',');
+        if (category != null) w.write(category.value());
+        w.write(',');
+        if (source != null) w.write(source.value());
+        w.write(',');
+        w.write(amount.toPlainString());
+        w.write(',');
+        w.write(date.toString());
+        w.write('\n');
+    }
+
+    private static void writeCsvField(Writer w, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+
+    /**
+     * Same field names and value formats as {@code LedgerEntryResponse} on the JSON API.
+     */
+    private static void writeJsonRow(Writer w, Long id, LedgerEntryType type, String description,
+                                     ExpenseCategory category, IncomeSource source, BigDecimal amount, LocalDate date) throws IOException {
+        w.write("{\"id\":");
+        w.write(Long.toString(id));
+        w.write(",\"kind\":\"");
+        w.write(type.value());
+        w.write("\",\"description\":");
+        writeJsonString(w, description);
+        w.write(",\"category\":");
+        if (category == null) w.write("null");
+        else { w.write('"'); w.write(category.value()); w.write('"'); }
+        w.write(",\"source\":");
+        if (source == null) w.write("null");
+        else { w.write('"'); w.write(source.value()); w.write('"'); }
+        w.write(",\"amount\":");
+        w.write(amount.toPlainString());
+        w.write(",\"date\":\"");
+        w.write(date.toString());
+        w.write("\"}\n");
+    }
+
+    private static void writeJsonString(Writer w, String value) throws IOException {
+        if (value == null) {
+            w.write("null");
+            return;
+        }
+        w.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> w.write("\\\"");
+                case '\\' -> w.write("\\\\");
+                case '\n' -> w.write("\\n");
+                case '\r' -> w.write("\\r");
+                case '\t' -> w.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        w.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        w.write(c);
+                    }
+                }
+            }
+        }
+        w.write('"');
+    }
+}
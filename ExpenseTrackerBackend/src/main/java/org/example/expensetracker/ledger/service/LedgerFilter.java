@@ -0,0 +1,37 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+
+/**
+ * Filter tuple shared by the ledger list, summary and scroll queries. Every field is optional.
+ */
+public record LedgerFilter(
+        LedgerEntryType type,
+        ExpenseCategory category,
+        IncomeSource source,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        BigDecimal minAmount,
+        BigDecimal maxAmount
+) {
+
+    public static LedgerFilter none() {
+        return new LedgerFilter(null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Same filter with amounts in canonical form (10, 10.0 and 10.00 compare equal), for use as a cache key.
+     */
+    public LedgerFilter normalized() {
+        return new LedgerFilter(type, category, source, dateFrom, dateTo, canonical(minAmount), canonical(maxAmount));
+    }
+
+    private static BigDecimal canonical(BigDecimal v) {
+        return v == null ? null : v.stripTrailingZeros();
+    }
+}
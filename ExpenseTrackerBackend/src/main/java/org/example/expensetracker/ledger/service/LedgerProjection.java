@@ -0,0 +1,282 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerSummaryResponse;
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One user's ledger held column-wise in primitive arrays, kept sorted by id.
+ *
+ * Answers list, summary and trend with the same filter semantics as {@link LedgerService#basePredicate} and the
+ * same orderings as {@link LedgerService#toSeekKeys}, including the id tie-breaker.
+ *
+ * Reads take the read lock; in-place updates from committed writes take the write lock.
+ */
+final class LedgerProjection {
+
+    // Rough per-row cost of the primitive columns plus the description reference, and of an empty projection.
+    private static final int ROW_BYTES = 8 + 4 + 8 + 1 + 1 + 8;
+    private static final int BASE_BYTES = 256;
+
+    private static final LedgerEntryType[] TYPES = LedgerEntryType.values();
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final IncomeSource[] SOURCES = IncomeSource.values();
+
+    // The database sorts enum columns by their stored name, not by ordinal.
+    private static final byte[] CATEGORY_RANK = nameRanks(CATEGORIES);
+    private static final byte[] SOURCE_RANK = nameRanks(SOURCES);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private int[] days;
+    private long[] cents;
+    private byte[] types;
+    // Category ordinal for expenses, source ordinal for incomes, -1 when absent.
+    private byte[] tags;
+    private String[] descriptions;
+    private int size;
+    private long descriptionBytes;
+
+    LedgerProjection(int capacity) {
+        int c = Math.max(capacity, 16);
+        ids = new long[c];
+        days = new int[c];
+        cents = new long[c];
+        types = new byte[c];
+        tags = new byte[c];
+        descriptions = new String[c];
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return BASE_BYTES + (long) ids.length * ROW_BYTES + descriptionBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a row. Ids normally arrive in increasing order, so this is an append.
+     */
+    void put(long id, LedgerEntryType type, String description, ExpenseCategory category, IncomeSource source,
+             Money amount, LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                descriptionBytes -= descriptionBytes(descriptions[pos]);
+            } else {
+                pos = -pos - 1;
+                ensureCapacity(size + 1);
+                if (pos < size) {
+                    shift(pos, pos + 1, size - pos);
+                }
+                size++;
+            }
+
+            ids[pos] = id;
+            days[pos] = (int) date.toEpochDay();
+            cents[pos] = amount.cents();
+            types[pos] = (byte) type.ordinal();
+            tags[pos] = (byte) (category != null ? category.ordinal() : source != null ? source.ordinal() : -1);
+            descriptions[pos] = description;
+            descriptionBytes += descriptionBytes(description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            descriptionBytes -= descriptionBytes(descriptions[pos]);
+            shift(pos + 1, pos, size - pos - 1);
+            size--;
+            descriptions[size] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    LedgerSummaryResponse summary(LedgerFilter filter) {
+        LedgerRowMatcher m = new LedgerRowMatcher(filter);
+        long income = 0;
+        long expense = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (!m.matches(types[i], tags[i], days[i], cents[i])) continue;
+                if (types[i] == LedgerEntryType.INCOME.ordinal()) {
+                    income = Math.addExact(income, cents[i]);
+                } else {
+                    expense = Math.addExact(expense, cents[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new LedgerSummaryResponse(Money.ofCents(income), Money.ofCents(expense), Money.ofCents(Math.subtractExact(income, expense)));
+    }
+
+    List<LedgerTrendPointResponse> trend(YearMonth start, int months) {
+        // Epoch day of the first day of each month in the window, plus the day after it ends.
+        int[] bounds = new int[months + 1];
+        for (int i = 0; i <= months; i++) {
+            bounds[i] = (int) start.plusMonths(i).atDay(1).toEpochDay();
+        }
+        long[] income = new long[months];
+        long[] expense = new long[months];
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < bounds[0] || day >= bounds[months]) continue;
+                int pos = Arrays.binarySearch(bounds, day);
+                int month = pos >= 0 ? pos : -pos - 2;
+                long[] totals = types[i] == LedgerEntryType.INCOME.ordinal() ? income : expense;
+                totals[month] = Math.addExact(totals[month], cents[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<LedgerTrendPointResponse> out = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            out.add(new LedgerTrendPointResponse(
+                    start.plusMonths(i).toString(),
+                    Money.ofCents(income[i]),
+                    Money.ofCents(expense[i]),
+                    Money.ofCents(Math.subtractExact(income[i], expense[i]))
+            ));
+        }
+        return out;
+    }
+
+    Page<LedgerEntryResponse> page(LedgerFilter filter, List<LedgerService.SeekKey> order, Pageable pageable) {
+        LedgerRowMatcher m = new LedgerRowMatcher(filter);
+
+        lock.readLock().lock();
+        try {
+            int[] rows = new int[size];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (m.matches(types[i], tags[i], days[i], cents[i])) rows[n++] = i;
+            }
+
+            Integer[] boxed = new Integer[n];
+            for (int i = 0; i < n; i++) boxed[i] = rows[i];
+            Arrays.sort(boxed, comparator(order));
+            for (int i = 0; i < n; i++) rows[i] = boxed[i];
+
+            long offset = pageable.getOffset();
+            int pageSize = pageable.getPageSize();
+            List<LedgerEntryResponse> content = new ArrayList<>(Math.min(pageSize, n));
+            for (long k = offset; k < n && k < offset + pageSize; k++) {
+                content.add(response(rows[(int) k]));
+            }
+            return new PageImpl<>(content, pageable, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Comparator<Integer> comparator(List<LedgerService.SeekKey> order) {
+        Comparator<Integer> cmp = null;
+        for (LedgerService.SeekKey key : order) {
+            Comparator<Integer> next = switch (key.attribute()) {
+                case "entryDate" -> Comparator.comparingInt(i -> days[i]);
+                case "amount" -> Comparator.comparingLong(i -> cents[i]);
+                case "expenseCategory" -> Comparator.comparingInt(i -> tags[i] < 0 ? -1 : CATEGORY_RANK[tags[i]]);
+                case "incomeSource" -> Comparator.comparingInt(i -> tags[i] < 0 ? -1 : SOURCE_RANK[tags[i]]);
+                case "id" -> Comparator.comparingLong(i -> ids[i]);
+                default -> throw new IllegalStateException("Unsupported sort key: " + key.attribute());
+            };
+            next = key.desc() ? next.reversed() : next;
+            cmp = cmp == null ? next : cmp.thenComparing(next);
+        }
+        return cmp;
+    }
+
+    private LedgerEntryResponse response(int i) {
+        LedgerEntryType type = TYPES[types[i]];
+        boolean expense = type == LedgerEntryType.EXPENSE;
+        byte tag = tags[i];
+        return new LedgerEntryResponse(
+                ids[i],
+                type,
+                descriptions[i],
+                expense && tag >= 0 ? CATEGORIES[tag] : null,
+                !expense && tag >= 0 ? SOURCES[tag] : null,
+                Money.ofCents(cents[i]),
+                LocalDate.ofEpochDay(days[i])
+        );
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+        int c = Math.max(needed, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, c);
+        days = Arrays.copyOf(days, c);
+        cents = Arrays.copyOf(cents, c);
+        types = Arrays.copyOf(types, c);
+        tags = Arrays.copyOf(tags, c);
+        descriptions = Arrays.copyOf(descriptions, c);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(days, from, days, to, length);
+        System.arraycopy(cents, from, cents, to, length);
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(tags, from, tags, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+    }
+
+    private static long descriptionBytes(String s) {
+        // String header + array header, two bytes per char worst case.
+        return s == null ? 0 : 40 + 2L * s.length();
+    }
+
+    private static byte[] nameRanks(Enum<?>[] values) {
+        Enum<?>[] sorted = values.clone();
+        Arrays.sort(sorted, Comparator.comparing(Enum::name));
+        byte[] rank = new byte[values.length];
+        for (int r = 0; r < sorted.length; r++) {
+            rank[sorted[r].ordinal()] = (byte) r;
+        }
+        return rank;
+    }
+}
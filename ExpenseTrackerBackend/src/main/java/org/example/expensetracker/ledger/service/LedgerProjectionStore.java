@@ -0,0 +1,146 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.expensetracker.ledger.config.LedgerProjectionProperties;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Holds the {@link LedgerProjection} of recently active users in a {@link LedgerUserCache}: loaded on the
+ * user's first read, updated in place after each of their writes commits, LRU-evicted under a global memory
+ * budget.
+ */
+@Service
+public class LedgerProjectionStore {
+
+    private final LedgerProjectionProperties props;
+    private final LedgerUserCache<LedgerProjection> cache;
+
+    public LedgerProjectionStore(
+            LedgerProjectionProperties props,
+            LedgerArchiveService archive,
+            LedgerVersionService versions,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry
+    ) {
+        this.props = props;
+
+        Counter hits = Counter.builder("ledger.projection.requests").tag("result", "hit").register(registry);
+        Counter loads = Counter.builder("ledger.projection.requests").tag("result", "load").register(registry);
+        Counter bypasses = Counter.builder("ledger.projection.requests").tag("result", "bypass").register(registry);
+
+        this.cache = new LedgerUserCache<>(
+                "ledger.projection",
+                new Contents(props.getMaxEntriesPerUser()),
+                props.getMemoryBudget(),
+                props.getMaxEntriesPerUser(),
+                props.getOversizedRecheck(),
+                archive,
+                versions,
+                entityManager,
+                transactionManager,
+                registry,
+                outcome -> (switch (outcome) {
+                    case HIT -> hits;
+                    case LOAD -> loads;
+                    case BYPASS -> bypasses;
+                }).increment()
+        );
+    }
+
+    /**
+     * The user's projection, loading it first if needed. Null when projections are disabled or the user's
+     * ledger is too large to project; callers then read from the database.
+     */
+    LedgerProjection get(Long userId) {
+        return props.isEnabled() ? cache.get(userId) : null;
+    }
+
+    void entryAdded(LedgerEntry entry) {
+        entriesAdded(List.of(entry));
+    }
+
+    void entriesAdded(List<LedgerEntry> entries) {
+        if (!props.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+
+        // Capture the committed values now; the entities may be detached or reused by the time this runs.
+        Map<Long, List<Row>> byUser = new LinkedHashMap<>();
+        for (LedgerEntry e : entries) {
+            byUser.computeIfAbsent(e.getUser().getId(), k -> new ArrayList<>()).add(new Row(
+                    e.getId(), e.getType(), e.getDescription(), e.getExpenseCategory(), e.getIncomeSource(),
+                    Money.of(e.getAmount()), e.getEntryDate()
+            ));
+        }
+
+        byUser.forEach((userId, rows) -> cache.afterCommit(userId, p -> rows.forEach(r -> r.putInto(p))));
+    }
+
+    void entryRemoved(Long userId, Long entryId) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        cache.afterCommit(userId, p -> p.remove(entryId));
+    }
+
+    private record Contents(int maxEntriesPerUser) implements LedgerUserCache.Contents<LedgerProjection> {
+
+        @Override
+        public String columns() {
+            return "e.id, e.type, e.description, e.expenseCategory, e.incomeSource, e.amount, e.entryDate";
+        }
+
+        @Override
+        public LedgerProjection create(int capacity) {
+            return new LedgerProjection(capacity);
+        }
+
+        @Override
+        public void put(LedgerProjection p, Object[] r) {
+            p.put(
+                    (Long) r[0],
+                    (LedgerEntryType) r[1],
+                    (String) r[2],
+                    (ExpenseCategory) r[3],
+                    (IncomeSource) r[4],
+                    Money.of((BigDecimal) r[5]),
+                    (LocalDate) r[6]
+            );
+        }
+
+        @Override
+        public long estimatedBytes(LedgerProjection p) {
+            return p.estimatedBytes();
+        }
+
+        @Override
+        public boolean outgrown(LedgerProjection p) {
+            return p.size() > maxEntriesPerUser;
+        }
+    }
+
+    private record Row(Long id, LedgerEntryType type, String description, ExpenseCategory category,
+                       IncomeSource source, Money amount, LocalDate date) {
+
+        void putInto(LedgerProjection p) {
+            p.put(id, type, description, category, source, amount, date);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.dto.LedgerEntryCursorPage;
+import org.example.expensetracker.ledger.dto.LedgerEntryPage;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerMatrixResponse;
+import org.example.expensetracker.ledger.dto.LedgerSummaryResponse;
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cached entry point for the list, scroll, summary and trend reads.
+ *
+ * The result cache and the in-memory projection are consulted before any transaction is opened, so a hit on
+ * either costs neither a connection nor a query. Description searches are resolved against the trigram index
+ * here too, so an index load never runs inside the read's transaction. Long-range summary and trend take their closed months from the
+ * user's columnar segment, at the cost of one history-version lookup; everything else goes through the
+ * transactional {@link LedgerService} loaders.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerReadService {
+
+    private final LedgerService ledgerService;
+    private final LedgerResultCache resultCache;
+    private final LedgerProjectionStore projections;
+    private final LedgerSearchStore searchIndex;
+    private final LedgerSegmentStore segments;
+    private final LedgerVersionService versions;
+    private final SecurityUtils securityUtils;
+
+    public Page<LedgerEntryResponse> list(
+            LedgerEntryType type,
+            ExpenseCategory category,
+            IncomeSource source,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String description,
+            String sortBy,
+            String sortDir,
+            int page,
+            int size
+    ) {
+        Long userId = securityUtils.getCurrentUserId();
+        LedgerFilter filter = new LedgerFilter(type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        LedgerSearchStore.Match search = searchIndex.match(userId, description);
+        if (search != null) {
+            // The projection doesn't search descriptions.
+            return ledgerService.listFor(userId, filter, search, sortBy, sortDir, page, size);
+        }
+        return listFor(userId, filter, sortBy, sortDir, page, size);
+    }
+
+    public Page<LedgerEntryResponse> listFor(Long userId, LedgerFilter filter, String sortBy, String sortDir, int page, int size) {
+        LedgerProjection projection = projections.get(userId);
+        if (projection == null) {
+            return ledgerService.listFor(userId, filter, sortBy, sortDir, page, size);
+        }
+        Pageable pageable = LedgerService.pageRequest(filter.type(), sortBy, sortDir, page, size);
+        return projection.page(filter, LedgerService.toSeekKeys(filter.type(), sortBy, sortDir), pageable);
+    }
+
+    /**
+     * Slice mode of {@link #list}: the page itself never runs a count. The total is counted once per user,
+     * filter and search and then served from the result cache until the user's next write, or taken from the
+     * slice itself when it is the last page and not past the end.
+     */
+    public LedgerEntryPage slice(
+            LedgerEntryType type,
+            ExpenseCategory category,
+            IncomeSource source,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String description,
+            String sortBy,
+            String sortDir,
+            int page,
+            int size
+    ) {
+        Long userId = securityUtils.getCurrentUserId();
+        LedgerFilter filter = new LedgerFilter(type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        LedgerSearchStore.Match search = searchIndex.match(userId, description);
+        if (search == null) {
+            LedgerProjection projection = projections.get(userId);
+            if (projection != null) {
+                // Counting in memory is free, so the projection's exact page is the better answer.
+                Pageable pageable = LedgerService.pageRequest(filter.type(), sortBy, sortDir, page, size);
+                return LedgerEntryPage.of(projection.page(filter, LedgerService.toSeekKeys(filter.type(), sortBy, sortDir), pageable));
+            }
+        }
+
+        Slice<LedgerEntryResponse> slice = ledgerService.sliceFor(userId, filter, search, sortBy, sortDir, page, size);
+        long offset = slice.getPageable().getOffset();
+        // The last page gives the exact total, unless it is past the end: then the rows only show it is short.
+        if (!slice.hasNext() && (slice.getNumberOfElements() > 0 || offset == 0)) {
+            return LedgerEntryPage.of(slice, offset + slice.getNumberOfElements(), false);
+        }
+        LedgerFilter key = filter.normalized();
+        long total = resultCache.get(userId, "count", new CountKey(key, search == null ? null : search.term()),
+                () -> ledgerService.countFor(userId, key, search));
+        return LedgerEntryPage.of(slice, total, true);
+    }
+
+    public LedgerEntryCursorPage scroll(
+            LedgerEntryType type,
+            ExpenseCategory category,
+            IncomeSource source,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String description,
+            String sortBy,
+            String sortDir,
+            String cursor,
+            int size
+    ) {
+        Long userId = securityUtils.getCurrentUserId();
+        LedgerFilter filter = new LedgerFilter(type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        return ledgerService.scrollFor(userId, filter, searchIndex.match(userId, description), sortBy, sortDir, cursor, size);
+    }
+
+    public LedgerSummaryResponse summary(
+            LedgerEntryType type,
+            ExpenseCategory category,
+            IncomeSource source,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            BigDecimal minAmount,
+            BigDecimal maxAmount
+    ) {
+        Long userId = securityUtils.getCurrentUserId();
+        return summaryFor(userId, new LedgerFilter(type, category, source, dateFrom, dateTo, minAmount, maxAmount));
+    }
+
+    public LedgerSummaryResponse summaryFor(Long userId, LedgerFilter filter) {
+        LedgerFilter key = filter.normalized();
+        return resultCache.get(userId, "summary", key, () -> {
+            LedgerProjection projection = projections.get(userId);
+            if (projection != null) {
+                return projection.summary(key);
+            }
+            LedgerSegment segment = segments.get(userId, key.dateFrom(), () -> versions.history(userId));
+            return segment != null ? segmentSummary(userId, key, segment) : ledgerService.summaryFor(userId, key);
+        });
+    }
+
+    /**
+     * Closed months from the segment, and only the months after it from the database.
+     */
+    private LedgerSummaryResponse segmentSummary(Long userId, LedgerFilter filter, LedgerSegment segment) {
+        long[] sums = segment.sums(filter);
+        LocalDate coveredEnd = segment.coveredThrough().atEndOfMonth();
+        if (filter.dateTo() == null || filter.dateTo().isAfter(coveredEnd)) {
+            LedgerSummaryResponse recent = ledgerService.summaryFor(userId, new LedgerFilter(
+                    filter.type(), filter.category(), filter.source(), coveredEnd.plusDays(1), filter.dateTo(),
+                    filter.minAmount(), filter.maxAmount()));
+            sums[0] = Math.addExact(sums[0], recent.totalIncome().cents());
+            sums[1] = Math.addExact(sums[1], recent.totalExpense().cents());
+        }
+        return new LedgerSummaryResponse(Money.ofCents(sums[0]), Money.ofCents(sums[1]),
+                Money.ofCents(Math.subtractExact(sums[0], sums[1])));
+    }
+
+    public List<LedgerTrendPointResponse> trend(int months) {
+        return trendFor(securityUtils.getCurrentUserId(), months);
+    }
+
+    /**
+     * Trend for the last {@code months} months: up to 36, or up to the segment limit (ten years by default) while
+     * segments are enabled.
+     */
+    public List<LedgerTrendPointResponse> trendFor(Long userId, int months) {
+        int maxMonths = segments.isEnabled() ? segments.maxTrendMonths() : 36;
+        int safeMonths = Math.min(Math.max(months, 1), maxMonths);
+        // The window ends at the current month, so it is part of the key.
+        TrendKey key = new TrendKey(safeMonths, YearMonth.now());
+        return resultCache.get(userId, "trend", key, () -> {
+            YearMonth start = key.endMonth().minusMonths(safeMonths - 1L);
+            LedgerProjection projection = projections.get(userId);
+            if (projection != null) {
+                return List.copyOf(projection.trend(start, safeMonths));
+            }
+
+            LedgerSegment segment = segments.get(userId, start.atDay(1), () -> versions.history(userId));
+            if (segment == null) {
+                return List.copyOf(ledgerService.trendRange(userId, start, safeMonths));
+            }
+            int covered = (int) Math.min(safeMonths, start.until(segment.coveredThrough(), ChronoUnit.MONTHS) + 1);
+            List<LedgerTrendPointResponse> out = new ArrayList<>(segment.trend(start, covered));
+            if (covered < safeMonths) {
+                out.addAll(ledgerService.trendRange(userId, start.plusMonths(covered), safeMonths - covered));
+            }
+            return List.copyOf(out);
+        });
+    }
+
+    /**
+     * Category (or source) x month matrix for the current user. Without a range it covers the last twelve
+     * months, ending with the current one.
+     */
+    public LedgerMatrixResponse matrix(LedgerEntryType type, YearMonth from, YearMonth to) {
+        Long userId = securityUtils.getCurrentUserId();
+        LedgerEntryType safeType = type == null ? LedgerEntryType.EXPENSE : type;
+        YearMonth end = to == null ? YearMonth.now() : to;
+        YearMonth start = from == null ? end.minusMonths(11) : from;
+        return resultCache.get(userId, "matrix", new MatrixKey(safeType, start, end),
+                () -> ledgerService.matrixFor(userId, safeType, start, end));
+    }
+
+    private record CountKey(LedgerFilter filter, String search) {
+    }
+
+    private record TrendKey(int months, YearMonth endMonth) {
+    }
+
+    private record MatrixKey(LedgerEntryType type, YearMonth from, YearMonth to) {
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.expensetracker.ledger.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.example.expensetracker.ledger.config.LedgerCacheProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-process LRU + TTL cache for per-user ledger read results.
+ *
+ * Keys are (userId, region, normalized arguments). Each user has a generation number that is bumped after
+ * any of their writes commits; an entry loaded under an older generation is treated as gone. Capturing the
+ * generation before loading means a result computed from pre-write data can never outlive the write.
+ * A user's generation is only kept while they have entries or a load in flight.
+ *
+ * Generations only see writes made through this instance. Entries also record the user's database version
+ * ({@link LedgerVersionService#observed}) read before loading, and are only served while it is unchanged, so
+ * a write through another instance is seen as soon as the version is, and never hides behind a newer ETag.
+ */
+@Component
+public class LedgerResultCache {
+
+    private final LedgerCacheProperties props;
+    private final LedgerVersionService versionService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, UserState> users = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidatedEvictions;
+    private final Counter invalidations;
+    private final Timer loadTimer;
+
+    public LedgerResultCache(LedgerCacheProperties props, LedgerVersionService versionService, MeterRegistry registry) {
+        this.props = props;
+        this.versionService = versionService;
+
+        this.hits = Counter.builder("ledger.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("ledger.cache.requests").tag("result", "miss").register(registry);
+        this.sizeEvictions = Counter.builder("ledger.cache.evictions").tag("cause", "size").register(registry);
+        this.expiredEvictions = Counter.builder("ledger.cache.evictions").tag("cause", "expired").register(registry);
+        this.invalidatedEvictions = Counter.builder("ledger.cache.evictions").tag("cause", "invalidated").register(registry);
+        this.loadTimer = Timer.builder("ledger.cache.load").register(registry);
+
+        Gauge.builder("ledger.cache.size", this, LedgerResultCache::size).register(registry);
+        Gauge.builder("ledger.cache.users", this, LedgerResultCache::users).register(registry);
+        Gauge.builder("ledger.cache.hit.ratio", this, LedgerResultCache::hitRatio).register(registry);
+        this.invalidations = Counter.builder("ledger.cache.invalidations").register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String region, Object args, Supplier<T> loader) {
+        if (!props.isEnabled()) {
+            return loader.get();
+        }
+
+        Key key = new Key(userId, region, args);
+        long version = versionService.observed(userId);
+        UserState user;
+        long generation;
+
+        lock.lock();
+        try {
+            user = users.computeIfAbsent(userId, id -> new UserState());
+            generation = user.generation;
+            Entry e = entries.get(key);
+            if (e != null) {
+                boolean current = e.generation() == generation && e.version() == version;
+                if (current && System.nanoTime() < e.expiresAt()) {
+                    hits.increment();
+                    return (T) e.value();
+                }
+                entries.remove(key);
+                user.entries--;
+                (current ? expiredEvictions : invalidatedEvictions).increment();
+            }
+            user.loads++;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        T value = null;
+        boolean loaded = false;
+        try {
+            value = loadTimer.record(loader);
+            loaded = true;
+        } finally {
+            lock.lock();
+            try {
+                user.loads--;
+                if (loaded && user.generation == generation) {
+                    long expiresAt = System.nanoTime() + props.getTtl().toNanos();
+                    if (entries.put(key, new Entry(value, generation, version, expiresAt)) == null) {
+                        user.entries++;
+                    }
+                    evictOverSize();
+                }
+                prune(userId, user);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    public void invalidateUser(Long userId) {
+        lock.lock();
+        try {
+            // Without entries or loads there is nothing a write could make stale.
+            UserState user = users.get(userId);
+            if (user != null) {
+                user.generation++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        invalidations.increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    // Callers hold the lock.
+    private void evictOverSize() {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > props.getMaxEntries() && it.hasNext()) {
+            Key evicted = it.next().getKey();
+            it.remove();
+            sizeEvictions.increment();
+            UserState user = users.get(evicted.userId());
+            user.entries--;
+            prune(evicted.userId(), user);
+        }
+    }
+
+    // Callers hold the lock.
+    private void prune(Long userId, UserState user) {
+        if (user.entries == 0 && user.loads == 0) {
+            users.remove(userId);
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int users() {
+        lock.lock();
+        try {
+            return users.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Key(Long userId, String region, Object args) {
+    }
+
+    private record Entry(Object value, long generation, long version, long expiresAt) {
+    }
+
+    private static final class UserState {
+
+        private long generation;
+        private int entries;
+        private int loads;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.expensetracker.ledger.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.example.expensetracker.ledger.config.LedgerRollupProperties;
+import org.example.expensetracker.ledger.repository.LedgerEntryRepository;
+import org.example.expensetracker.ledger.repository.LedgerMonthlyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Backfills missing rollups on startup and periodically re-verifies them against the raw entries.
+ * Each user is processed in its own transaction so one bad user can't block the rest.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerRollupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerRollupJob.class);
+
+    private final LedgerRollupService rollupService;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerMonthlyRollupRepository rollupRepository;
+    private final LedgerRollupProperties props;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        if (!props.isBackfillOnStartup()) return;
+
+        int rebuilt = 0;
+        for (Long userId : ledgerEntryRepository.findDistinctUserIds()) {
+            try {
+                if (rollupService.hasRollups(userId)) continue;
+                rollupService.rebuild(userId);
+                rebuilt++;
+            } catch (RuntimeException ex) {
+                log.error("Could not backfill ledger rollups for user {}", userId, ex);
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Backfilled ledger rollups for {} user(s)", rebuilt);
+        }
+    }
+
+    @Scheduled(cron = "${app.ledger.rollup.verify-cron:0 30 3 * * *}")
+    public void verifyAll() {
+        if (!props.isVerifyEnabled()) return;
+
+        Set<Long> userIds = new LinkedHashSet<>(ledgerEntryRepository.findDistinctUserIds());
+        userIds.addAll(rollupRepository.findDistinctUserIds());
+
+        int repaired = 0;
+        for (Long userId : userIds) {
+            try {
+                if (rollupService.repair(userId)) {
+                    log.warn("Ledger rollups drifted for user {}; rebuilt", userId);
+                    repaired++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Could not verify ledger rollups for user {}", userId, ex);
+            }
+        }
+        log.info("Verified ledger rollups for {} user(s), repaired {}", userIds.size(), repaired);
+    }
+}
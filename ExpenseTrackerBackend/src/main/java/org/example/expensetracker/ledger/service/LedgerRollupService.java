@@ -0,0 +1,278 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.expensetracker.ledger.entity.LedgerCategoryRollup;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.entity.LedgerMonthlyRollup;
+import org.example.expensetracker.ledger.money.Money;
+import org.example.expensetracker.ledger.repository.LedgerArchivedEntryRepository;
+import org.example.expensetracker.ledger.repository.LedgerCategoryRollupRepository;
+import org.example.expensetracker.ledger.repository.LedgerEntryRepository;
+import org.example.expensetracker.ledger.repository.LedgerMonthlyRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps {@link LedgerMonthlyRollup} and {@link LedgerCategoryRollup} rows in step with the raw ledger entries.
+ *
+ * Write paths call {@link #entryAdded} / {@link #entryRemoved} inside their own transaction so the
+ * rollups commit (or roll back) together with the entry. {@link #rebuild}, {@link #verify} and {@link #repair}
+ * recompute everything from the raw rows and are used by {@link LedgerRollupJob}.
+ *
+ * A rebuild first locks the user's rollup rows, monthly then category like the write paths, so a write
+ * committing meanwhile either lands before the rebuild reads the entries or waits and applies its delta on
+ * top of the rebuilt rows. Under REPEATABLE READ the read view is only taken by the first plain read, after
+ * the locks are held.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerRollupService {
+
+    private final LedgerMonthlyRollupRepository rollupRepository;
+    private final LedgerCategoryRollupRepository categoryRollupRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerArchivedEntryRepository archivedEntryRepository;
+    private final LedgerArchiveService archiveService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void entryAdded(Long userId, LedgerEntry entry) {
+        applyDelta(userId, entry, entry.getAmount(), 1);
+    }
+
+    /**
+     * Bulk variant of {@link #entryAdded}: one upsert per touched (month, type) bucket instead of one per entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void entriesAdded(Long userId, List<LedgerEntry> entries) {
+        // Bucket key is period * 10 + type ordinal; value is {cents, count}.
+        Map<Integer, long[]> buckets = new HashMap<>();
+        for (LedgerEntry e : entries) {
+            int key = LedgerMonthlyRollup.periodOf(e.getEntryDate()) * 10 + e.getType().ordinal();
+            long[] bucket = buckets.computeIfAbsent(key, k -> new long[2]);
+            bucket[0] = Math.addExact(bucket[0], Money.of(e.getAmount()).cents());
+            bucket[1]++;
+        }
+
+        LedgerEntryType[] types = LedgerEntryType.values();
+        for (Map.Entry<Integer, long[]> b : buckets.entrySet()) {
+            int key = b.getKey();
+            long[] bucket = b.getValue();
+            rollupRepository.applyDelta(userId, key / 10, types[key % 10].name(),
+                    Money.ofCents(bucket[0]).toBigDecimal(), bucket[1]);
+        }
+
+        Map<CubeCell, long[]> cells = new HashMap<>();
+        for (LedgerEntry e : entries) {
+            String tag = LedgerCategoryRollup.tagOf(e);
+            if (tag == null) continue;
+            CubeCell cell = new CubeCell(e.getType(), LedgerMonthlyRollup.periodOf(e.getEntryDate()), tag);
+            long[] bucket = cells.computeIfAbsent(cell, k -> new long[2]);
+            bucket[0] = Math.addExact(bucket[0], Money.of(e.getAmount()).cents());
+            bucket[1]++;
+        }
+        for (Map.Entry<CubeCell, long[]> c : cells.entrySet()) {
+            CubeCell cell = c.getKey();
+            categoryRollupRepository.applyDelta(userId, cell.type().name(), cell.period(), cell.tag(),
+                    Money.ofCents(c.getValue()[0]).toBigDecimal(), c.getValue()[1]);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void entryRemoved(Long userId, LedgerEntry entry) {
+        applyDelta(userId, entry, entry.getAmount().negate(), -1);
+    }
+
+    private void applyDelta(Long userId, LedgerEntry entry, BigDecimal amount, long count) {
+        int period = LedgerMonthlyRollup.periodOf(entry.getEntryDate());
+        rollupRepository.applyDelta(userId, period, entry.getType().name(), amount, count);
+
+        String tag = LedgerCategoryRollup.tagOf(entry);
+        if (tag != null) {
+            categoryRollupRepository.applyDelta(userId, entry.getType().name(), period, tag, amount, count);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerMonthlyRollup> findRange(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.findByUserIdAndPeriodBetweenOrderByPeriod(
+                userId,
+                LedgerMonthlyRollup.periodOf(from),
+                LedgerMonthlyRollup.periodOf(to)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerCategoryRollup> findCategoryRange(Long userId, LedgerEntryType type, YearMonth from, YearMonth to) {
+        return categoryRollupRepository.findByUserIdAndTypeAndPeriodBetween(
+                userId,
+                type,
+                LedgerMonthlyRollup.periodOf(from),
+                LedgerMonthlyRollup.periodOf(to)
+        );
+    }
+
+    @Transactional
+    public void rebuild(Long userId) {
+        lock(userId);
+        replace(userId);
+    }
+
+    /**
+     * Verifies the user's rollups and rebuilds them if they drifted, holding the rollup locks throughout so a
+     * concurrent write can't be counted twice or lost in between.
+     *
+     * @return true when the rollups were rebuilt
+     */
+    @Transactional
+    public boolean repair(Long userId) {
+        lock(userId);
+        if (verify(userId)) {
+            return false;
+        }
+        replace(userId);
+        return true;
+    }
+
+    private void lock(Long userId) {
+        rollupRepository.lockByUserId(userId);
+        categoryRollupRepository.lockByUserId(userId);
+    }
+
+    private void replace(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        categoryRollupRepository.deleteByUserId(userId);
+        rollupRepository.flush();
+
+        List<LedgerMonthlyRollup> rebuilt = new ArrayList<>();
+        for (Map.Entry<CubeCell, long[]> t : monthlyTotals(userId).entrySet()) {
+            rebuilt.add(LedgerMonthlyRollup.builder()
+                    .userId(userId)
+                    .period(t.getKey().period())
+                    .type(t.getKey().type())
+                    .total(Money.ofCents(t.getValue()[0]))
+                    .entryCount(t.getValue()[1])
+                    .build());
+        }
+        rollupRepository.saveAll(rebuilt);
+
+        List<LedgerCategoryRollup> cube = new ArrayList<>();
+        for (Map.Entry<CubeCell, long[]> t : categoryTotals(userId).entrySet()) {
+            cube.add(LedgerCategoryRollup.builder()
+                    .userId(userId)
+                    .type(t.getKey().type())
+                    .period(t.getKey().period())
+                    .tag(t.getKey().tag())
+                    .total(Money.ofCents(t.getValue()[0]))
+                    .entryCount(t.getValue()[1])
+                    .build());
+        }
+        categoryRollupRepository.saveAll(cube);
+    }
+
+    /**
+     * @return true when the stored rollups match a fresh aggregation of the user's raw entries.
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(Long userId) {
+        Map<String, LedgerMonthlyRollup> stored = new HashMap<>();
+        for (LedgerMonthlyRollup r : rollupRepository.findByUserIdOrderByPeriod(userId)) {
+            // Buckets that went back to zero after deletes are equivalent to missing ones.
+            if (r.getEntryCount() == 0 && r.getTotal().signum() == 0) continue;
+            stored.put(r.getPeriod() + ":" + r.getType(), r);
+        }
+
+        Map<CubeCell, long[]> expected = monthlyTotals(userId);
+        if (expected.size() != stored.size()) {
+            return false;
+        }
+
+        for (Map.Entry<CubeCell, long[]> t : expected.entrySet()) {
+            LedgerMonthlyRollup s = stored.get(t.getKey().period() + ":" + t.getKey().type());
+            if (s == null) return false;
+            if (s.getTotal().cents() != t.getValue()[0]) return false;
+            if (s.getEntryCount() != t.getValue()[1]) return false;
+        }
+        return verifyCategories(userId);
+    }
+
+    private boolean verifyCategories(Long userId) {
+        Map<String, LedgerCategoryRollup> stored = new HashMap<>();
+        for (LedgerCategoryRollup r : categoryRollupRepository.findByUserId(userId)) {
+            if (r.getEntryCount() == 0 && r.getTotal().signum() == 0) continue;
+            stored.put(r.getPeriod() + ":" + r.getType() + ":" + r.getTag(), r);
+        }
+
+        Map<CubeCell, long[]> expected = categoryTotals(userId);
+        for (Map.Entry<CubeCell, long[]> t : expected.entrySet()) {
+            CubeCell cell = t.getKey();
+            LedgerCategoryRollup s = stored.get(cell.period() + ":" + cell.type() + ":" + cell.tag());
+            if (s == null) return false;
+            if (s.getTotal().cents() != t.getValue()[0]) return false;
+            if (s.getEntryCount() != t.getValue()[1]) return false;
+        }
+        return expected.size() == stored.size();
+    }
+
+    /**
+     * Per (month, type) {cents, count} over live and archived entries. A month can briefly have rows in both,
+     * between a backdated write and the next archive run.
+     */
+    private Map<CubeCell, long[]> monthlyTotals(Long userId) {
+        Map<CubeCell, long[]> totals = new LinkedHashMap<>();
+        List<LedgerEntryRepository.MonthlyTotalRow> rows = new ArrayList<>(ledgerEntryRepository.findMonthlyTotals(userId));
+        if (archiveService.isEnabled()) {
+            rows.addAll(archivedEntryRepository.findMonthlyTotals(userId));
+        }
+        for (LedgerEntryRepository.MonthlyTotalRow r : rows) {
+            add(totals, new CubeCell(r.getType(), r.getY() * 100 + r.getM(), null), r);
+        }
+        return totals;
+    }
+
+    private Map<CubeCell, long[]> categoryTotals(Long userId) {
+        Map<CubeCell, long[]> totals = new LinkedHashMap<>();
+        List<LedgerEntryRepository.CategoryMonthlyTotalRow> rows =
+                new ArrayList<>(ledgerEntryRepository.findCategoryMonthlyTotals(userId));
+        if (archiveService.isEnabled()) {
+            rows.addAll(archivedEntryRepository.findCategoryMonthlyTotals(userId));
+        }
+        for (LedgerEntryRepository.CategoryMonthlyTotalRow r : rows) {
+            String tag = tagOf(r);
+            if (tag == null) continue;
+            add(totals, new CubeCell(r.getType(), r.getY() * 100 + r.getM(), tag), r);
+        }
+        return totals;
+    }
+
+    private static void add(Map<CubeCell, long[]> totals, CubeCell cell, LedgerEntryRepository.MonthlyTotalRow r) {
+        long[] bucket = totals.computeIfAbsent(cell, k -> new long[2]);
+        bucket[0] = Math.addExact(bucket[0], Money.of(r.getTotal()).cents());
+        bucket[1] += r.getEntryCount() == null ? 0 : r.getEntryCount();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasRollups(Long userId) {
+        // Users from before the category cube existed have monthly rollups only; report them as missing.
+        return rollupRepository.existsByUserId(userId) && categoryRollupRepository.existsByUserId(userId);
+    }
+
+    private static String tagOf(LedgerEntryRepository.CategoryMonthlyTotalRow r) {
+        if (r.getCategory() != null) return r.getCategory().name();
+        if (r.getSource() != null) return r.getSource().name();
+        return null;
+    }
+
+    private record CubeCell(LedgerEntryType type, int period, String tag) {
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.expensetracker.ledger.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+
+/**
+ * {@link LedgerFilter} translated once per query to the column encodings shared by {@link LedgerProjection} and
+ * {@link LedgerSegment}: type ordinal, tag ordinal (category for expenses, source for incomes, -1 when absent),
+ * epoch day and cents.
+ */
+final class LedgerRowMatcher {
+
+    private final int type;
+    private final int category;
+    private final int source;
+    private final int dayFrom;
+    private final int dayTo;
+    private final long minCents;
+    private final long maxCents;
+
+    LedgerRowMatcher(LedgerFilter f) {
+        int t = f.type() == null ? -1 : f.type().ordinal();
+        // A category only matches expenses and a source only incomes, as in basePredicate.
+        if (f.category() != null) t = combine(t, LedgerEntryType.EXPENSE.ordinal());
+        if (f.source() != null) t = combine(t, LedgerEntryType.INCOME.ordinal());
+        type = t;
+        category = f.category() == null ? -1 : f.category().ordinal();
+        source = f.source() == null ? -1 : f.source().ordinal();
+        dayFrom = f.dateFrom() == null ? Integer.MIN_VALUE : (int) f.dateFrom().toEpochDay();
+        dayTo = f.dateTo() == null ? Integer.MAX_VALUE : (int) f.dateTo().toEpochDay();
+        // amount >= min on a 2-decimal column is cents >= ceil(min * 100); amount <= max is cents <= floor(max * 100).
+        minCents = f.minAmount() == null ? Long.MIN_VALUE : toCents(f.minAmount(), RoundingMode.CEILING);
+        maxCents = f.maxAmount() == null ? Long.MAX_VALUE : toCents(f.maxAmount(), RoundingMode.FLOOR);
+    }
+
+    private static int combine(int current, int required) {
+        // -2 never matches: conflicting type constraints.
+        return current == -1 || current == required ? required : -2;
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode mode) {
+        BigDecimal scaled = amount.setScale(Money.SCALE, mode);
+        if (scaled.unscaledValue().bitLength() > 63) {
+            // Beyond any storable amount: the bound is effectively open on that side.
+            return amount.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    /**
+     * Last epoch day the filter can match; rows sorted by day can stop scanning after it.
+     */
+    int dayTo() {
+        return dayTo;
+    }
+
+    boolean matches(int rowType, int rowTag, int day, long cents) {
+        if (type != -1 && rowType != type) return false;
+        if (category != -1 && (rowType != LedgerEntryType.EXPENSE.ordinal() || rowTag != category)) return false;
+        if (source != -1 && (rowType != LedgerEntryType.INCOME.ordinal() || rowTag != source)) return false;
+        if (day < dayFrom || day > dayTo) return false;
+        return cents >= minCents && cents <= maxCents;
+    }
+}
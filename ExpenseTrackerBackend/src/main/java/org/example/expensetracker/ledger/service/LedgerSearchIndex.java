@@ -0,0 +1,339 @@
+package org.example.expensetracker.ledger.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over one user's entry descriptions.
+ *
+ * Each indexed entry gets a document number in insertion order; {@code ids} maps it back to the entry id. A
+ * trigram's posting list is the increasing sequence of documents containing it, stored as varint gaps in a
+ * growable byte array, so appending a new entry is a write at the end of each of its trigrams' lists. Removing
+ * an entry only marks its document; the lists are not rewritten.
+ *
+ * Matching is a necessary condition only: a description containing the term contains all its trigrams, not the
+ * other way round, so callers must still check the candidates. Text is compared case- and accent-folded, which
+ * keeps the candidates a superset of what a case- and accent-insensitive LIKE matches.
+ *
+ * Reads take the read lock; in-place updates from committed writes take the write lock.
+ */
+final class LedgerSearchIndex {
+
+    static final int MIN_TERM_LENGTH = 3;
+
+    // Rough cost of the id column per document, of a hash slot and of a posting list besides its bytes.
+    private static final int DOC_BYTES = 8;
+    private static final int SLOT_BYTES = 8 + 4;
+    private static final int LIST_BYTES = 16 + 8 + 4 + 4 + 4;
+    private static final int BASE_BYTES = 256;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document -> entry id, increasing unless an id arrived out of order.
+    private long[] ids;
+    private int docs;
+    private boolean idsSorted = true;
+    private final BitSet gone = new BitSet();
+    private int removed;
+
+    // Open-addressing table from packed trigram (never 0) to posting list number.
+    private long[] keys;
+    private int[] slots;
+    private int trigrams;
+
+    private byte[][] postings;
+    private int[] postingBytes;
+    private int[] lastDoc;
+    private int[] counts;
+    private long postingCapacity;
+
+    LedgerSearchIndex(int capacity) {
+        ids = new long[Math.max(capacity, 16)];
+        keys = new long[1024];
+        slots = new int[1024];
+        postings = new byte[256][];
+        postingBytes = new int[256];
+        lastDoc = new int[256];
+        counts = new int[256];
+    }
+
+    /**
+     * Lower case without accents: the form both descriptions and search terms are indexed in.
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int removed() {
+        lock.readLock().lock();
+        try {
+            return removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return BASE_BYTES + (long) ids.length * DOC_BYTES + docs / 8 + (long) keys.length * SLOT_BYTES
+                    + (long) postings.length * LIST_BYTES + postingCapacity;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes an entry, replacing it if already present. Ids normally arrive in increasing order.
+     */
+    void put(long id, String description) {
+        lock.writeLock().lock();
+        try {
+            if (docs > 0 && id <= ids[docs - 1]) {
+                markGone(find(id));
+                idsSorted = false;
+            }
+            if (docs == ids.length) {
+                ids = Arrays.copyOf(ids, docs + (docs >> 1));
+            }
+            int doc = docs++;
+            ids[doc] = id;
+
+            String text = description == null ? "" : fold(description);
+            for (int i = 0; i + MIN_TERM_LENGTH <= text.length(); i++) {
+                append(listFor(trigram(text, i), true), doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            markGone(find(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the entries whose description may contain {@code term} (already folded, at least
+     * {@link #MIN_TERM_LENGTH} long), in index order; null when there are more than {@code limit}.
+     */
+    long[] candidates(String term, int limit) {
+        lock.readLock().lock();
+        try {
+            int n = term.length() - MIN_TERM_LENGTH + 1;
+            int[] lists = new int[n];
+            for (int i = 0; i < n; i++) {
+                lists[i] = listFor(trigram(term, i), false);
+                if (lists[i] < 0) {
+                    return new long[0];
+                }
+            }
+
+            // Start from the rarest trigram; every further list can only shrink the set.
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = lists[i];
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(counts[a], counts[b]));
+
+            int[] docsMatching = decode(order[0]);
+            int size = docsMatching.length;
+            for (int k = 1; k < n && size > 0; k++) {
+                if (!order[k].equals(order[k - 1])) {
+                    size = intersect(docsMatching, size, order[k]);
+                }
+            }
+
+            long[] out = new long[Math.min(size, limit)];
+            int found = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = docsMatching[i];
+                if (gone.get(doc)) continue;
+                if (found == limit) {
+                    return null;
+                }
+                out[found++] = ids[doc];
+            }
+            return Arrays.copyOf(out, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold a lock.
+    private int find(long id) {
+        if (idsSorted) {
+            int pos = Arrays.binarySearch(ids, 0, docs, id);
+            return pos >= 0 && !gone.get(pos) ? pos : -1;
+        }
+        // Deletes are rare and mostly of recent entries.
+        for (int doc = docs - 1; doc >= 0; doc--) {
+            if (ids[doc] == id && !gone.get(doc)) {
+                return doc;
+            }
+        }
+        return -1;
+    }
+
+    // Callers hold the write lock.
+    private void markGone(int doc) {
+        if (doc >= 0) {
+            gone.set(doc);
+            removed++;
+        }
+    }
+
+    private static long trigram(String text, int at) {
+        return 1L << 48 | (long) text.charAt(at) << 32 | (long) text.charAt(at + 1) << 16 | text.charAt(at + 2);
+    }
+
+    /**
+     * Posting list number of {@code key}, created if {@code create}; -1 when absent.
+     */
+    private int listFor(long key, boolean create) {
+        int mask = keys.length - 1;
+        int pos = slot(key, mask);
+        while (keys[pos] != 0) {
+            if (keys[pos] == key) {
+                return slots[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+
+        int list = trigrams++;
+        if (list == postings.length) {
+            int c = list + (list >> 1);
+            postings = Arrays.copyOf(postings, c);
+            postingBytes = Arrays.copyOf(postingBytes, c);
+            lastDoc = Arrays.copyOf(lastDoc, c);
+            counts = Arrays.copyOf(counts, c);
+        }
+        lastDoc[list] = -1;
+        keys[pos] = key;
+        slots[pos] = list;
+        if (trigrams * 2 > keys.length) {
+            rehash();
+        }
+        return list;
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int pos = slot(oldKeys[i], mask);
+            while (keys[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            keys[pos] = oldKeys[i];
+            slots[pos] = oldSlots[i];
+        }
+    }
+
+    private void append(int list, int doc) {
+        // A trigram repeated within one description is only posted once.
+        if (lastDoc[list] == doc) {
+            return;
+        }
+        int gap = doc - lastDoc[list];
+        lastDoc[list] = doc;
+        counts[list]++;
+
+        byte[] data = postings[list];
+        int used = postingBytes[list];
+        if (data == null || data.length - used < 5) {
+            int c = data == null ? 4 : Math.max(data.length + (data.length >> 1), used + 5);
+            postingCapacity += c - (data == null ? 0 : data.length);
+            data = data == null ? new byte[c] : Arrays.copyOf(data, c);
+            postings[list] = data;
+        }
+        while ((gap & ~0x7F) != 0) {
+            data[used++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[used++] = (byte) gap;
+        postingBytes[list] = used;
+    }
+
+    private int[] decode(int list) {
+        int[] out = new int[counts[list]];
+        byte[] data = postings[list];
+        int p = 0;
+        int doc = -1;
+        for (int i = 0; i < out.length; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[p++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += gap;
+            out[i] = doc;
+        }
+        return out;
+    }
+
+    /**
+     * Keeps the first {@code size} documents of {@code docs} that are also in {@code list}, compacted in place.
+     */
+    private int intersect(int[] docs, int size, int list) {
+        byte[] data = postings[list];
+        int end = postingBytes[list];
+        int p = 0;
+        int doc = -1;
+        int kept = 0;
+        int i = 0;
+        while (i < size && p < end) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[p++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += gap;
+            while (i < size && docs[i] < doc) {
+                i++;
+            }
+            if (i < size && docs[i] == doc) {
+                docs[kept++] = doc;
+                i++;
+            }
+        }
+        return kept;
+    }
+}
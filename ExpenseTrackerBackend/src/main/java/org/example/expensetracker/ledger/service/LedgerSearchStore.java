@@ -0,0 +1,166 @@
+package org.example.expensetracker.ledger.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.example.expensetracker.ledger.config.LedgerSearchProperties;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Holds the {@link LedgerSearchIndex} of recently searching users, LRU-evicted under a global memory budget, and
+ * turns a description search into the {@link Match} the list and scroll queries filter by.
+ *
+ * The indexes live in a {@link LedgerUserCache}, like projections: loaded on the user's first search and
+ * updated in place after each of their writes commits.
+ */
+@Service
+public class LedgerSearchStore {
+
+    private final LedgerSearchProperties props;
+    private final LedgerUserCache<LedgerSearchIndex> cache;
+
+    private final Counter indexed;
+    private final Counter broad;
+    private final Counter scans;
+
+    public LedgerSearchStore(
+            LedgerSearchProperties props,
+            LedgerArchiveService archive,
+            LedgerVersionService versions,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry
+    ) {
+        this.props = props;
+
+        this.indexed = Counter.builder("ledger.search.requests").tag("result", "indexed").register(registry);
+        this.broad = Counter.builder("ledger.search.requests").tag("result", "broad").register(registry);
+        this.scans = Counter.builder("ledger.search.requests").tag("result", "scan").register(registry);
+        Counter loads = Counter.builder("ledger.search.loads").register(registry);
+
+        this.cache = new LedgerUserCache<>(
+                "ledger.search",
+                new Contents(props.getMaxEntriesPerUser()),
+                props.getMemoryBudget(),
+                props.getMaxEntriesPerUser(),
+                props.getOversizedRecheck(),
+                archive,
+                versions,
+                entityManager,
+                transactionManager,
+                registry,
+                outcome -> {
+                    if (outcome == LedgerUserCache.Outcome.LOAD) {
+                        loads.increment();
+                    }
+                }
+        );
+    }
+
+    /**
+     * What a description search filters by: a case-insensitive substring match on {@code term}, restricted to
+     * {@code candidateIds} when the index produced them.
+     *
+     * @param candidateIds entries that can match, or null when the user's entries have to be scanned
+     */
+    public record Match(String term, long[] candidateIds) {
+
+        boolean isEmpty() {
+            return candidateIds != null && candidateIds.length == 0;
+        }
+    }
+
+    /**
+     * The match for {@code description}, or null when it is blank.
+     *
+     * @throws IllegalArgumentException if the term is too short to look up by trigram
+     */
+    Match match(Long userId, String description) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        String term = description.strip();
+        String folded = LedgerSearchIndex.fold(term);
+        if (folded.length() < LedgerSearchIndex.MIN_TERM_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Description search needs at least " + LedgerSearchIndex.MIN_TERM_LENGTH + " characters");
+        }
+
+        LedgerSearchIndex index = props.isEnabled() ? cache.get(userId) : null;
+        if (index == null) {
+            scans.increment();
+            return new Match(term.toLowerCase(Locale.ROOT), null);
+        }
+        long[] ids = index.candidates(folded, props.getMaxCandidates());
+        (ids == null ? broad : indexed).increment();
+        return new Match(term.toLowerCase(Locale.ROOT), ids);
+    }
+
+    void entryAdded(LedgerEntry entry) {
+        entriesAdded(List.of(entry));
+    }
+
+    void entriesAdded(List<LedgerEntry> entries) {
+        if (!props.isEnabled() || entries.isEmpty()) {
+            return;
+        }
+
+        // Capture the committed values now; the entities may be detached or reused by the time this runs.
+        Map<Long, List<Row>> byUser = new LinkedHashMap<>();
+        for (LedgerEntry e : entries) {
+            byUser.computeIfAbsent(e.getUser().getId(), k -> new ArrayList<>())
+                    .add(new Row(e.getId(), e.getDescription()));
+        }
+
+        byUser.forEach((userId, rows) ->
+                cache.afterCommit(userId, index -> rows.forEach(r -> index.put(r.id(), r.description()))));
+    }
+
+    void entryRemoved(Long userId, Long entryId) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        cache.afterCommit(userId, index -> index.remove(entryId));
+    }
+
+    private record Contents(int maxEntriesPerUser) implements LedgerUserCache.Contents<LedgerSearchIndex> {
+
+        @Override
+        public String columns() {
+            return "e.id, e.description";
+        }
+
+        @Override
+        public LedgerSearchIndex create(int capacity) {
+            return new LedgerSearchIndex(capacity);
+        }
+
+        @Override
+        public void put(LedgerSearchIndex index, Object[] r) {
+            index.put((Long) r[0], (String) r[1]);
+        }
+
+        @Override
+        public long estimatedBytes(LedgerSearchIndex index) {
+            return index.estimatedBytes();
+        }
+
+        @Override
+        public boolean outgrown(LedgerSearchIndex index) {
+            // Removed entries still take space in the posting lists; past half of them, rebuild on next search.
+            return index.size() > maxEntriesPerUser || index.removed() > index.size();
+        }
+    }
+
+    private record Row(Long id, String description) {
+    }
+}
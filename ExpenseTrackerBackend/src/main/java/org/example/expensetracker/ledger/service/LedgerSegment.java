@@ -0,0 +1,250 @@
+package org.example.expensetracker.ledger.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+
+/**
+ * One user's entries up to the end of a closed month, stored column-wise in a memory-mapped file.
+ *
+ * Layout, big-endian:
+ * <pre>
+ * header   magic "LSG1", format, history version (long), covered-through period (yyyymm), rows, first epoch day,
+ *          dictionary size, days column bytes, cents column bytes
+ * dict     (type ordinal, tag ordinal) byte pairs, one per distinct kind of entry
+ * days     varint day deltas, rows sorted by day; the first is relative to the first epoch day
+ * cents    zigzag varint amounts
+ * kinds    one dictionary index byte per row
+ * </pre>
+ * A decade of a busy user's history is a few hundred kilobytes and aggregates in a single sequential pass.
+ * Reads use absolute gets only, so one instance is safe to share between threads.
+ */
+final class LedgerSegment {
+
+    private static final int MAGIC = 0x4C534731;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4 + 4;
+
+    private final ByteBuffer buf;
+    private final long historyVersion;
+    private final YearMonth coveredThrough;
+    private final int rows;
+    private final int firstDay;
+    private final byte[] kindTypes;
+    private final byte[] kindTags;
+    private final int daysOffset;
+    private final int centsOffset;
+    private final int kindsOffset;
+
+    private LedgerSegment(ByteBuffer buf) throws IOException {
+        this.buf = buf;
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC || buf.getInt(4) != FORMAT) {
+            throw new IOException("Not a ledger segment");
+        }
+        historyVersion = buf.getLong(8);
+        int period = buf.getInt(16);
+        coveredThrough = YearMonth.of(period / 100, period % 100);
+        rows = buf.getInt(20);
+        firstDay = buf.getInt(24);
+        int dictSize = buf.getInt(28);
+        int daysBytes = buf.getInt(32);
+        int centsBytes = buf.getInt(36);
+
+        kindTypes = new byte[dictSize];
+        kindTags = new byte[dictSize];
+        for (int k = 0; k < dictSize; k++) {
+            kindTypes[k] = buf.get(HEADER_BYTES + 2 * k);
+            kindTags[k] = buf.get(HEADER_BYTES + 2 * k + 1);
+        }
+        daysOffset = HEADER_BYTES + 2 * dictSize;
+        centsOffset = daysOffset + daysBytes;
+        kindsOffset = centsOffset + centsBytes;
+        if ((long) kindsOffset + rows != buf.capacity()) {
+            throw new IOException("Truncated ledger segment");
+        }
+    }
+
+    static LedgerSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LedgerSegment(mapped);
+        }
+    }
+
+    /**
+     * Writes rows {@code 0..n-1}, which must be sorted by day, to {@code file} via a temporary file and an
+     * atomic rename, so readers only ever map a complete segment.
+     */
+    static void write(Path file, long historyVersion, YearMonth coveredThrough,
+                      int[] days, long[] cents, byte[] types, byte[] tags, int n) throws IOException {
+        ByteArrayOutputStream dayColumn = new ByteArrayOutputStream(n * 2);
+        ByteArrayOutputStream centColumn = new ByteArrayOutputStream(n * 3);
+        byte[] kinds = new byte[n];
+        // Index = type ordinal * 128 + tag + 1 -> dictionary index + 1.
+        int[] dictIndex = new int[LedgerEntryType.values().length * 128 + 1];
+        ByteArrayOutputStream dict = new ByteArrayOutputStream();
+        int dictSize = 0;
+
+        int firstDay = n == 0 ? 0 : days[0];
+        int previous = firstDay;
+        for (int i = 0; i < n; i++) {
+            if (days[i] < previous) {
+                throw new IllegalArgumentException("Segment rows must be sorted by day");
+            }
+            writeVarint(dayColumn, days[i] - previous);
+            previous = days[i];
+            writeVarint(centColumn, (cents[i] << 1) ^ (cents[i] >> 63));
+
+            int key = types[i] * 128 + tags[i] + 1;
+            if (dictIndex[key] == 0) {
+                dict.write(types[i]);
+                dict.write(tags[i]);
+                dictIndex[key] = ++dictSize;
+            }
+            kinds[i] = (byte) (dictIndex[key] - 1);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT)
+                .putLong(historyVersion)
+                .putInt(coveredThrough.getYear() * 100 + coveredThrough.getMonthValue())
+                .putInt(n)
+                .putInt(firstDay)
+                .putInt(dictSize)
+                .putInt(dayColumn.size())
+                .putInt(centColumn.size());
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            out.write(header.array());
+            dict.writeTo(out);
+            dayColumn.writeTo(out);
+            centColumn.writeTo(out);
+            out.write(kinds);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    long historyVersion() {
+        return historyVersion;
+    }
+
+    /**
+     * Last month included; everything after it has to come from the database.
+     */
+    YearMonth coveredThrough() {
+        return coveredThrough;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * Income and expense cents of the rows matching {@code filter}.
+     */
+    long[] sums(LedgerFilter filter) {
+        LedgerRowMatcher m = new LedgerRowMatcher(filter);
+        long[] sums = new long[2];
+        scan(m.dayTo(), (type, tag, day, cents) -> {
+            if (!m.matches(type, tag, day, cents)) return;
+            int slot = type == LedgerEntryType.INCOME.ordinal() ? 0 : 1;
+            sums[slot] = Math.addExact(sums[slot], cents);
+        });
+        return sums;
+    }
+
+    List<LedgerTrendPointResponse> trend(YearMonth start, int months) {
+        // Epoch day of the first day of each month in the window, plus the day after it ends.
+        int[] bounds = new int[months + 1];
+        for (int i = 0; i <= months; i++) {
+            bounds[i] = (int) start.plusMonths(i).atDay(1).toEpochDay();
+        }
+        long[] income = new long[months];
+        long[] expense = new long[months];
+
+        scan(bounds[months] - 1, (type, tag, day, cents) -> {
+            if (day < bounds[0]) return;
+            int pos = Arrays.binarySearch(bounds, day);
+            int month = pos >= 0 ? pos : -pos - 2;
+            long[] totals = type == LedgerEntryType.INCOME.ordinal() ? income : expense;
+            totals[month] = Math.addExact(totals[month], cents);
+        });
+
+        List<LedgerTrendPointResponse> out = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            out.add(new LedgerTrendPointResponse(
+                    start.plusMonths(i).toString(),
+                    Money.ofCents(income[i]),
+                    Money.ofCents(expense[i]),
+                    Money.ofCents(Math.subtractExact(income[i], expense[i]))
+            ));
+        }
+        return out;
+    }
+
+    /**
+     * Decodes rows in day order up to and including {@code lastDay}.
+     */
+    private void scan(int lastDay, RowVisitor visitor) {
+        int dp = daysOffset;
+        int cp = centsOffset;
+        int day = firstDay;
+        for (int i = 0; i < rows; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf.get(dp++);
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            day += delta;
+            if (day > lastDay) {
+                return;
+            }
+
+            long zigzag = 0;
+            shift = 0;
+            do {
+                b = buf.get(cp++);
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            long cents = (zigzag >>> 1) ^ -(zigzag & 1);
+
+            int kind = buf.get(kindsOffset + i) & 0xFF;
+            visitor.row(kindTypes[kind], kindTags[kind], day, cents);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowVisitor {
+        void row(int type, int tag, int day, long cents);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.example.expensetracker.ledger.config.LedgerSegmentProperties;
+import org.example.expensetracker.ledger.repository.LedgerArchivedEntryRepository;
+import org.example.expensetracker.ledger.repository.LedgerEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exports every user's closed months (everything up to the end of last month) into their segment, rewriting
+ * only segments that are missing, stale or a month behind. Each user is exported in its own transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerSegmentJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSegmentJob.class);
+
+    private final LedgerSegmentStore segments;
+    private final LedgerArchiveService archive;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerArchivedEntryRepository archivedEntryRepository;
+    private final LedgerSegmentProperties props;
+
+    @Scheduled(cron = "${app.ledger.segments.export-cron:0 30 4 * * *}")
+    public void exportAll() {
+        if (!props.isEnabled()) return;
+
+        YearMonth through = YearMonth.now().minusMonths(1);
+        Set<Long> userIds = new LinkedHashSet<>(ledgerEntryRepository.findDistinctUserIds());
+        if (archive.isEnabled()) {
+            userIds.addAll(archivedEntryRepository.findDistinctUserIds());
+        }
+
+        int written = 0;
+        for (Long userId : userIds) {
+            try {
+                if (segments.export(userId, through)) {
+                    written++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Could not export the ledger segment of user {}", userId, ex);
+            }
+        }
+        log.info("Checked ledger segments through {} for {} user(s), rewrote {}", through, userIds.size(), written);
+    }
+}
@@ -0,0 +1,312 @@
+package org.example.expensetracker.ledger.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.example.expensetracker.ledger.config.LedgerSegmentProperties;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes and serves the per-user {@link LedgerSegment} files.
+ *
+ * A segment is only used while its history version matches the user's current one in LedgerVersions, which
+ * every write dated before the current month bumps; a stale or missing segment makes the caller fall back to the
+ * database until the exporter rewrites it. Files are opened lazily on first use and kept mapped for the
+ * {@code max-mapped-users} most recently read users; an evicted mapping is released once no reader holds it.
+ */
+@Service
+public class LedgerSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSegmentStore.class);
+
+    private final LedgerSegmentProperties props;
+    private final LedgerArchiveService archive;
+    private final LedgerVersionService versions;
+    private final EntityManager entityManager;
+    private final TransactionTemplate exportTx;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, LedgerSegment> segments;
+    // Users known to have no segment file, so a miss doesn't touch the disk on every read.
+    private final LinkedHashMap<Long, Boolean> absent;
+
+    private final Counter hits;
+    private final Counter stale;
+    private final Counter missing;
+    private final Timer exportTimer;
+
+    public LedgerSegmentStore(
+            LedgerSegmentProperties props,
+            LedgerArchiveService archive,
+            LedgerVersionService versions,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry
+    ) {
+        this.props = props;
+        this.archive = archive;
+        this.versions = versions;
+        this.entityManager = entityManager;
+        this.segments = lru(props.getMaxMappedUsers());
+        this.absent = lru(props.getMaxMappedUsers());
+
+        // One read-only snapshot for the history version and the rows it describes.
+        this.exportTx = new TransactionTemplate(transactionManager);
+        this.exportTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.exportTx.setReadOnly(true);
+        this.exportTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        this.hits = Counter.builder("ledger.segment.requests").tag("result", "hit").register(registry);
+        this.stale = Counter.builder("ledger.segment.requests").tag("result", "stale").register(registry);
+        this.missing = Counter.builder("ledger.segment.requests").tag("result", "missing").register(registry);
+        this.exportTimer = Timer.builder("ledger.segment.export").register(registry);
+
+        Gauge.builder("ledger.segment.users", this, LedgerSegmentStore::users).register(registry);
+    }
+
+    private static <V> LinkedHashMap<Long, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    public int maxTrendMonths() {
+        return props.getMaxTrendMonths();
+    }
+
+    /**
+     * The user's segment when it covers {@code from} (null for an open start) and is current for the history
+     * version; null otherwise. The version is only looked up when a covering segment exists.
+     */
+    LedgerSegment get(Long userId, LocalDate from, LongSupplier historyVersion) {
+        if (!props.isEnabled()) {
+            return null;
+        }
+
+        LedgerSegment segment = cached(userId);
+        if (segment == null) {
+            missing.increment();
+            return null;
+        }
+        if (from != null && from.isAfter(segment.coveredThrough().atEndOfMonth())) {
+            return null;
+        }
+        if (segment.historyVersion() != historyVersion.getAsLong()) {
+            stale.increment();
+            return null;
+        }
+        hits.increment();
+        return segment;
+    }
+
+    /**
+     * Rewrites the user's segment to cover everything through {@code through}, unless the current one already
+     * does at the current history version.
+     *
+     * @return true when a segment was written
+     */
+    public boolean export(Long userId, YearMonth through) {
+        return exportTimer.record(() -> {
+            Rows rows = exportTx.execute(status -> {
+                long history = versions.history(userId);
+                LedgerSegment current = cached(userId);
+                if (current != null && current.historyVersion() == history && current.coveredThrough().equals(through)) {
+                    return null;
+                }
+                return read(userId, history, through.atEndOfMonth());
+            });
+            if (rows == null) {
+                return false;
+            }
+
+            try {
+                Files.createDirectories(props.getDirectory());
+                Path file = file(userId);
+                LedgerSegment.write(file, rows.history, through, rows.days, rows.cents, rows.types, rows.tags, rows.size);
+                LedgerSegment segment = LedgerSegment.open(file);
+                lock.lock();
+                try {
+                    segments.put(userId, segment);
+                    absent.remove(userId);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not write ledger segment for user " + userId, ex);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * The user's mapped segment, opening its file if it isn't mapped yet; null when there is none.
+     */
+    private LedgerSegment cached(Long userId) {
+        lock.lock();
+        try {
+            LedgerSegment segment = segments.get(userId);
+            if (segment != null || absent.get(userId) != null) {
+                return segment;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        LedgerSegment segment = open(file(userId));
+        lock.lock();
+        try {
+            if (segment == null) {
+                absent.put(userId, Boolean.TRUE);
+                return null;
+            }
+            // Keep a mapping the exporter installed meanwhile; it is at least as new.
+            LedgerSegment existing = segments.putIfAbsent(userId, segment);
+            return existing != null ? existing : segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LedgerSegment open(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return LedgerSegment.open(file);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable ledger segment {}", file, ex);
+            return null;
+        }
+    }
+
+    private int users() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path file(Long userId) {
+        return props.getDirectory().resolve(userId + ".seg");
+    }
+
+    private Rows read(Long userId, long history, LocalDate last) {
+        // Archived years are part of the history too.
+        List<String> entities = archive.isEnabled()
+                ? List.of("LedgerArchivedEntry", "LedgerEntry")
+                : List.of("LedgerEntry");
+
+        Rows rows = new Rows(history);
+        for (String entity : entities) {
+            try (Stream<Object[]> stream = entityManager.createQuery(
+                            "select e.entryDate, e.type, e.expenseCategory, e.incomeSource, e.amount from " + entity
+                                    + " e where e.user.id = :userId and e.entryDate <= :last", Object[].class)
+                    .setParameter("userId", userId)
+                    .setParameter("last", last)
+                    .getResultStream()) {
+                stream.forEach(r -> rows.add(
+                        (LocalDate) r[0],
+                        (LedgerEntryType) r[1],
+                        (ExpenseCategory) r[2],
+                        (IncomeSource) r[3],
+                        (BigDecimal) r[4]
+                ));
+            }
+        }
+        rows.sortByDay();
+        return rows;
+    }
+
+    /**
+     * Column buffers for one export.
+     */
+    private static final class Rows {
+
+        private final long history;
+        private int[] days = new int[256];
+        private long[] cents = new long[256];
+        private byte[] types = new byte[256];
+        private byte[] tags = new byte[256];
+        private int size;
+
+        Rows(long history) {
+            this.history = history;
+        }
+
+        void add(LocalDate date, LedgerEntryType type, ExpenseCategory category, IncomeSource source, BigDecimal amount) {
+            if (size == days.length) {
+                int c = size + (size >> 1);
+                days = Arrays.copyOf(days, c);
+                cents = Arrays.copyOf(cents, c);
+                types = Arrays.copyOf(types, c);
+                tags = Arrays.copyOf(tags, c);
+            }
+            days[size] = (int) date.toEpochDay();
+            cents[size] = Money.of(amount).cents();
+            types[size] = (byte) type.ordinal();
+            tags[size] = (byte) (category != null ? category.ordinal() : source != null ? source.ordinal() : -1);
+            size++;
+        }
+
+        void sortByDay() {
+            // (day, row) packed into one long, so a primitive sort orders the rows.
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) days[i] << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] d = new int[size];
+            long[] c = new long[size];
+            byte[] t = new byte[size];
+            byte[] g = new byte[size];
+            for (int k = 0; k < size; k++) {
+                int i = (int) order[k];
+                d[k] = days[i];
+                c[k] = cents[i];
+                t[k] = types[i];
+                g[k] = tags[i];
+            }
+            days = d;
+            cents = c;
+            types = t;
+            tags = g;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package org.example.expensetracker.ledger.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,18 +14,34 @@ import org.example.expensetracker.auth.entity.User;
 import org.example.expensetracker.auth.security.SecurityUtils;
 import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
 import org.example.expensetracker.ledger.dto.CreateIncomeRequest;
-import org.example.expensetracker.ledger.dto.LedgerDashboardResponse;
+import org.example.expensetracker.ledger.dto.CreateLedgerBatchRequest;
+import org.example.expensetracker.ledger.dto.LedgerBatchItemRequest;
+import org.example.expensetracker.ledger.dto.LedgerBatchItemResult;
+import org.example.expensetracker.ledger.dto.LedgerBatchResponse;
+import org.example.expensetracker.ledger.dto.LedgerEntryCursorPage;
 import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.dto.LedgerMatrixResponse;
+import org.example.expensetracker.ledger.dto.LedgerMatrixRowResponse;
 import org.example.expensetracker.ledger.dto.LedgerSummaryResponse;
 import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
 import org.example.expensetracker.ledger.entity.ExpenseCategory;
 import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerArchivedEntry;
+import org.example.expensetracker.ledger.entity.LedgerCategoryRollup;
 import org.example.expensetracker.ledger.entity.LedgerEntry;
 import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.entity.LedgerMonthlyRollup;
+import org.example.expensetracker.ledger.money.Money;
+import org.example.expensetracker.ledger.repository.LedgerArchivedEntryRepository;
+import org.example.expensetracker.ledger.repository.LedgerEntryBatchRepository;
 import org.example.expensetracker.ledger.repository.LedgerEntryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -37,6 +55,7 @@ import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
@@ -45,96 +64,328 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LedgerService {
 
+    static final int MAX_MATRIX_MONTHS = 120;
+
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerEntryBatchRepository ledgerEntryBatchRepository;
+    private final LedgerRollupService rollupService;
+    private final LedgerVersionService versions;
     private final SecurityUtils securityUtils;
     private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerProjectionStore projections;
+    private final LedgerSearchStore searchIndex;
+    private final LedgerMetrics metrics;
+    private final LedgerArchiveService archive;
+    private final LedgerArchivedEntryRepository archivedEntryRepository;
 
     @Transactional
     public LedgerEntryResponse addExpense(CreateExpenseRequest req) {
-        User user = securityUtils.getCurrentUser();
+        return metrics.record("addExpense", null, () -> {
+            User user = securityUtils.getCurrentUserReference();
+            LedgerEntry entry = newExpense(user, req);
+
+            LedgerEntry saved = ledgerEntryRepository.save(entry);
+            rollupService.entryAdded(user.getId(), saved);
+            versions.bump(user.getId(), List.of(saved));
+            projections.entryAdded(saved);
+            searchIndex.entryAdded(saved);
+            eventPublisher.publishEvent(new LedgerChangedEvent(user.getId()));
+            return toResponse(saved);
+        });
+    }
 
-        LedgerEntry entry = LedgerEntry.builder()
-                .user(user)
-                .type(LedgerEntryType.EXPENSE)
-                .description(req.description().trim())
-                .expenseCategory(req.category())
-                .incomeSource(null)
-                .amount(req.amount())
-                .entryDate(req.date())
-                .build();
+    @Transactional
+    public LedgerEntryResponse addIncome(CreateIncomeRequest req) {
+        return metrics.record("addIncome", null, () -> {
+            User user = securityUtils.getCurrentUserReference();
+            LedgerEntry entry = newIncome(user, req);
+
+            LedgerEntry saved = ledgerEntryRepository.save(entry);
+            rollupService.entryAdded(user.getId(), saved);
+            versions.bump(user.getId(), List.of(saved));
+            projections.entryAdded(saved);
+            searchIndex.entryAdded(saved);
+            eventPublisher.publishEvent(new LedgerChangedEvent(user.getId()));
+            return toResponse(saved);
+        });
+    }
 
-        validateEntry(entry);
+    @Transactional
+    public LedgerBatchResponse addBatch(CreateLedgerBatchRequest req) {
+        return metrics.record("addBatch", null, () -> {
+            User user = securityUtils.getCurrentUserReference();
+            List<LedgerBatchItemRequest> items = req.items();
+
+            LedgerBatchItemResult[] results = new LedgerBatchItemResult[items.size()];
+            List<LedgerEntry> valid = new ArrayList<>(items.size());
+            List<Integer> validIndexes = new ArrayList<>(items.size());
+
+            for (int i = 0; i < items.size(); i++) {
+                try {
+                    LedgerEntry entry = toEntry(user, items.get(i));
+                    validateEntry(entry);
+                    valid.add(entry);
+                    validIndexes.add(i);
+                } catch (IllegalStateException | IllegalArgumentException ex) {
+                    results[i] = new LedgerBatchItemResult(i, false, null, ex.getMessage());
+                }
+            }
+
+            if (!valid.isEmpty()) {
+                ledgerEntryBatchRepository.insertAll(valid);
+                rollupService.entriesAdded(user.getId(), valid);
+                versions.bump(user.getId(), valid);
+                projections.entriesAdded(valid);
+                searchIndex.entriesAdded(valid);
+                eventPublisher.publishEvent(new LedgerChangedEvent(user.getId()));
+            }
+
+            for (int v = 0; v < valid.size(); v++) {
+                int i = validIndexes.get(v);
+                results[i] = new LedgerBatchItemResult(i, true, valid.get(v).getId(), null);
+            }
 
-        LedgerEntry saved = ledgerEntryRepository.save(entry);
-        return toResponse(saved);
+            metrics.rows("addBatch", valid.size());
+            return new LedgerBatchResponse(valid.size(), items.size() - valid.size(), List.of(results));
+        });
     }
 
+    /**
+     * Inserts already validated entries, possibly for several users, in the caller's single transaction.
+     * Used by the write-behind pipeline to commit a whole group of queued writes at once.
+     */
     @Transactional
-    public LedgerEntryResponse addIncome(CreateIncomeRequest req) {
-        User user = securityUtils.getCurrentUser();
+    public List<LedgerEntryResponse> commitEntries(List<LedgerEntry> entries) {
+        return metrics.record("commitEntries", null, () -> {
+            ledgerEntryBatchRepository.insertAll(entries);
 
-        LedgerEntry entry = LedgerEntry.builder()
-                .user(user)
-                .type(LedgerEntryType.INCOME)
-                .description(req.description().trim())
-                .incomeSource(req.source())
-                .expenseCategory(null)
-                .amount(req.amount())
-                .entryDate(req.date())
-                .build();
+            Map<Long, List<LedgerEntry>> byUser = new LinkedHashMap<>();
+            for (LedgerEntry e : entries) {
+                byUser.computeIfAbsent(e.getUser().getId(), k -> new ArrayList<>()).add(e);
+            }
+            for (Map.Entry<Long, List<LedgerEntry>> u : byUser.entrySet()) {
+                rollupService.entriesAdded(u.getKey(), u.getValue());
+                versions.bump(u.getKey(), u.getValue());
+                eventPublisher.publishEvent(new LedgerChangedEvent(u.getKey()));
+            }
+            projections.entriesAdded(entries);
+            searchIndex.entriesAdded(entries);
 
-        validateEntry(entry);
+            List<LedgerEntryResponse> out = new ArrayList<>(entries.size());
+            for (LedgerEntry e : entries) {
+                out.add(toResponse(e));
+            }
+            metrics.rows("commitEntries", out.size());
+            return out;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LedgerEntryResponse> listFor(Long userId, LedgerFilter filter, String sortBy, String sortDir, int page, int size) {
+        return listFor(userId, filter, null, sortBy, sortDir, page, size);
+    }
+
+    /**
+     * {@link #listFor} narrowed to the entries whose description matches {@code search}, when given.
+     */
+    @Transactional(readOnly = true)
+    public Page<LedgerEntryResponse> listFor(Long userId, LedgerFilter filter, LedgerSearchStore.Match search,
+                                             String sortBy, String sortDir, int page, int size) {
+        return metrics.record("list", filter, () -> {
+            Pageable pageable = pageRequest(filter.type(), sortBy, sortDir, page, size);
+            if (search != null && search.isEmpty()) {
+                return new PageImpl<LedgerEntryResponse>(List.of(), pageable, 0);
+            }
+
+            Page<LedgerEntryResponse> result = archive.reaches(filter)
+                    ? mergedPage(userId, filter, search, toSeekKeys(filter.type(), sortBy, sortDir), pageable)
+                    : ledgerEntryRepository.findAll(baseSpec(userId, filter, search), pageable).map(LedgerService::toResponse);
+            metrics.pageSize("list", pageable.getPageSize());
+            metrics.rows("list", result.getNumberOfElements());
+            return result;
+        });
+    }
+
+    /**
+     * Offset page over live and archived entries: the first offset + size rows of each table in page order,
+     * merged and sliced. Undated lists end up here too, so the offset is capped
+     * ({@link LedgerArchiveService#checkMergedOffset}) to bound what one page reads.
+     */
+    private Page<LedgerEntryResponse> mergedPage(Long userId, LedgerFilter filter, LedgerSearchStore.Match search,
+                                                 List<SeekKey> keys, Pageable pageable) {
+        archive.checkMergedOffset(pageable.getOffset());
+        long total = countOf(LedgerEntry.class, userId, filter, search)
+                + countOf(LedgerArchivedEntry.class, userId, filter, search);
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), total);
+        List<LedgerEntry> rows = fetchAcrossArchive(userId, filter, search, keys, null, limit);
 
-        LedgerEntry saved = ledgerEntryRepository.save(entry);
-        return toResponse(saved);
+        List<LedgerEntryResponse> content = new ArrayList<>(pageable.getPageSize());
+        for (int i = (int) pageable.getOffset(); i < rows.size(); i++) {
+            content.add(toResponse(rows.get(i)));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Count-free variant of {@link #listFor}: fetches one row past the page to learn whether another page exists,
+     * and leaves the total to {@link #countFor}, which callers can cache.
+     */
+    @Transactional(readOnly = true)
+    public Slice<LedgerEntryResponse> sliceFor(Long userId, LedgerFilter filter, LedgerSearchStore.Match search,
+                                               String sortBy, String sortDir, int page, int size) {
+        return metrics.record("slice", filter, () -> {
+            Pageable pageable = pageRequest(filter.type(), sortBy, sortDir, page, size);
+            List<SeekKey> keys = toSeekKeys(filter.type(), sortBy, sortDir);
+            int offset = (int) pageable.getOffset();
+
+            List<LedgerEntry> rows;
+            if (search != null && search.isEmpty()) {
+                rows = List.of();
+            } else if (archive.reaches(filter)) {
+                archive.checkMergedOffset(offset);
+                List<LedgerEntry> merged = fetchAcrossArchive(userId, filter, search, keys, null,
+                        offset + pageable.getPageSize() + 1);
+                rows = merged.size() > offset ? merged.subList(offset, merged.size()) : List.of();
+            } else {
+                rows = fetchSorted(LedgerEntry.class, userId, filter, search, keys, null, offset, pageable.getPageSize() + 1);
+            }
+
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            List<LedgerEntry> pageRows = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+            List<LedgerEntryResponse> content = new ArrayList<>(pageRows.size());
+            for (LedgerEntry e : pageRows) {
+                content.add(toResponse(e));
+            }
+
+            metrics.pageSize("slice", pageable.getPageSize());
+            metrics.rows("slice", content.size());
+            return new SliceImpl<>(content, pageable, hasNext);
+        });
+    }
+
+    /**
+     * Number of entries {@link #listFor} would page through.
+     */
+    @Transactional(readOnly = true)
+    public long countFor(Long userId, LedgerFilter filter, LedgerSearchStore.Match search) {
+        return metrics.record("count", filter, () -> {
+            if (search != null && search.isEmpty()) {
+                return 0L;
+            }
+            long count = countOf(LedgerEntry.class, userId, filter, search);
+            if (archive.reaches(filter)) {
+                count += countOf(LedgerArchivedEntry.class, userId, filter, search);
+            }
+            return count;
+        });
+    }
+
+    static Pageable pageRequest(LedgerEntryType type, String sortBy, String sortDir, int page, int size) {
+        int safeSize = Math.min(Math.max(size, 1), 500);
+        return PageRequest.of(Math.max(page, 0), safeSize, toSort(toSeekKeys(type, sortBy, sortDir)));
     }
 
+    /**
+     * Keyset ("seek") variant of {@link #listFor}: instead of an offset it continues after the row encoded in
+     * {@code cursor}, and it never runs a count query, so page N costs the same as page 1.
+     */
     @Transactional(readOnly = true)
-    public Page<LedgerEntryResponse> list(
-            LedgerEntryType type,
-            ExpenseCategory category,
-            IncomeSource source,
-            LocalDate dateFrom,
-            LocalDate dateTo,
-            BigDecimal minAmount,
-            BigDecimal maxAmount,
+    public LedgerEntryCursorPage scrollFor(
+            Long userId,
+            LedgerFilter filter,
             String sortBy,
             String sortDir,
-            int page,
+            String cursor,
             int size
     ) {
-        Long userId = securityUtils.getCurrentUserId();
+        return scrollFor(userId, filter, null, sortBy, sortDir, cursor, size);
+    }
 
-        int safeSize = Math.min(Math.max(size, 1), 500);
-        Pageable pageable = PageRequest.of(
-                Math.max(page, 0),
-                safeSize,
-                toSort(type, sortBy, sortDir)
-        );
+    @Transactional(readOnly = true)
+    public LedgerEntryCursorPage scrollFor(
+            Long userId,
+            LedgerFilter filter,
+            LedgerSearchStore.Match search,
+            String sortBy,
+            String sortDir,
+            String cursor,
+            int size
+    ) {
+        return metrics.record("scroll", filter, () -> {
+            int safeSize = Math.min(Math.max(size, 1), 500);
+            List<SeekKey> keys = toSeekKeys(filter.type(), sortBy, sortDir);
+            String sortLabel = seekLabel(keys);
+
+            LedgerCursor after = null;
+            if (cursor != null && !cursor.isBlank()) {
+                after = LedgerCursor.decode(cursor);
+                if (!after.sort().equals(sortLabel)) {
+                    throw new IllegalArgumentException("Cursor does not match the requested sort");
+                }
+            }
+
+            // Fetch one extra row to learn whether another page exists without counting.
+            List<LedgerEntry> rows;
+            if (search != null && search.isEmpty()) {
+                rows = List.of();
+            } else if (archive.reaches(filter)) {
+                rows = fetchAcrossArchive(userId, filter, search, keys, after, safeSize + 1);
+            } else {
+                rows = fetchSorted(LedgerEntry.class, userId, filter, search, keys, after, 0, safeSize + 1);
+            }
+
+            boolean hasNext = rows.size() > safeSize;
+            List<LedgerEntry> pageRows = hasNext ? rows.subList(0, safeSize) : rows;
 
-        Specification<LedgerEntry> spec = baseSpec(userId, type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+            List<LedgerEntryResponse> content = new ArrayList<>(pageRows.size());
+            for (LedgerEntry e : pageRows) {
+                content.add(toResponse(e));
+            }
+
+            String nextCursor = null;
+            if (hasNext) {
+                LedgerEntry last = pageRows.get(pageRows.size() - 1);
+                String tag = last.getExpenseCategory() != null
+                        ? last.getExpenseCategory().name()
+                        : last.getIncomeSource() == null ? null : last.getIncomeSource().name();
+                nextCursor = new LedgerCursor(sortLabel, last.getEntryDate(), last.getAmount(), tag, last.getId()).encode();
+            }
 
-        return ledgerEntryRepository.findAll(spec, pageable)
-                .map(LedgerService::toResponse);
+            metrics.pageSize("scroll", safeSize);
+            metrics.rows("scroll", content.size());
+            return new LedgerEntryCursorPage(content, safeSize, hasNext, nextCursor);
+        });
     }
 
     @Transactional(readOnly = true)
-    public LedgerSummaryResponse summary(
-            LedgerEntryType type,
-            ExpenseCategory category,
-            IncomeSource source,
-            LocalDate dateFrom,
-            LocalDate dateTo,
-            BigDecimal minAmount,
-            BigDecimal maxAmount
-    ) {
-        Long userId = securityUtils.getCurrentUserId();
+    public LedgerSummaryResponse summaryFor(Long userId, LedgerFilter filter) {
+        return metrics.record("summary", filter, () -> {
+            long[] sums = sumsOf(LedgerEntry.class, userId, filter);
+            if (archive.reaches(filter)) {
+                long[] archived = sumsOf(LedgerArchivedEntry.class, userId, filter);
+                sums[0] = Math.addExact(sums[0], archived[0]);
+                sums[1] = Math.addExact(sums[1], archived[1]);
+            }
+            Money income = Money.ofCents(sums[0]);
+            Money expense = Money.ofCents(sums[1]);
+            return new LedgerSummaryResponse(income, expense, income.minus(expense));
+        });
+    }
 
+    /**
+     * Income and expense totals, in cents, of the entries of {@code entity} matching the filter.
+     */
+    private long[] sumsOf(Class<?> entity, Long userId, LedgerFilter filter) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Tuple> cq = cb.createTupleQuery();
-        Root<LedgerEntry> root = cq.from(LedgerEntry.class);
+        Root<?> root = cq.from(entity);
 
-        Predicate where = basePredicate(cb, root, userId, type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        Predicate where = basePredicate(cb, root, userId, filter);
 
         Expression<BigDecimal> amount = root.get("amount");
         Expression<BigDecimal> incomeSum = cb.sum(
@@ -154,87 +405,263 @@ public class LedgerService {
         ).where(where);
 
         Tuple t = entityManager.createQuery(cq).getSingleResult();
-        BigDecimal income = nvl(t.get("income", BigDecimal.class));
-        BigDecimal expense = nvl(t.get("expense", BigDecimal.class));
-        return new LedgerSummaryResponse(income, expense, income.subtract(expense));
+        return new long[]{
+                Money.of(t.get("income", BigDecimal.class)).cents(),
+                Money.of(t.get("expense", BigDecimal.class)).cents()
+        };
     }
 
-    @Transactional(readOnly = true)
-    public List<LedgerTrendPointResponse> trend(int months) {
-        Long userId = securityUtils.getCurrentUserId();
+    private long countOf(Class<?> entity, Long userId, LedgerFilter filter, LedgerSearchStore.Match search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<?> root = cq.from(entity);
+        cq.select(cb.count(root)).where(searchPredicate(cb, root, userId, filter, search));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    /**
+     * {@code limit} entries of {@code entity} in seek-key order, skipping {@code offset}, after {@code after}
+     * when given.
+     */
+    private <E> List<E> fetchSorted(Class<E> entity, Long userId, LedgerFilter filter, LedgerSearchStore.Match search,
+                                    List<SeekKey> keys, LedgerCursor after, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> cq = cb.createQuery(entity);
+        Root<E> root = cq.from(entity);
 
+        Predicate where = searchPredicate(cb, root, userId, filter, search);
+        if (after != null) {
+            where = cb.and(where, seekPredicate(cb, root, keys, after));
+        }
+
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (SeekKey k : keys) {
+            orders.add(k.desc() ? cb.desc(root.get(k.attribute())) : cb.asc(root.get(k.attribute())));
+        }
+        cq.select(root).where(where).orderBy(orders);
+
+        return entityManager.createQuery(cq)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * {@link #fetchSorted} over live and archived entries: the first {@code limit} of each, merged in seek-key
+     * order. Archived rows come back as detached entries.
+     */
+    private List<LedgerEntry> fetchAcrossArchive(Long userId, LedgerFilter filter, LedgerSearchStore.Match search,
+                                                 List<SeekKey> keys, LedgerCursor after, int limit) {
+        List<LedgerEntry> live = fetchSorted(LedgerEntry.class, userId, filter, search, keys, after, 0, limit);
+        List<LedgerEntry> archived = new ArrayList<>();
+        for (LedgerArchivedEntry a : fetchSorted(LedgerArchivedEntry.class, userId, filter, search, keys, after, 0, limit)) {
+            archived.add(a.toEntry());
+        }
+
+        Comparator<LedgerEntry> order = seekOrder(keys);
+        List<LedgerEntry> merged = new ArrayList<>(Math.min(limit, live.size() + archived.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < live.size() || j < archived.size())) {
+            if (j >= archived.size() || (i < live.size() && order.compare(live.get(i), archived.get(j)) <= 0)) {
+                merged.add(live.get(i++));
+            } else {
+                merged.add(archived.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerTrendPointResponse> trendFor(Long userId, int months) {
         int safeMonths = Math.min(Math.max(months, 1), 36);
-        YearMonth end = YearMonth.now();
-        YearMonth start = end.minusMonths(safeMonths - 1L);
-        LocalDate from = start.atDay(1);
-        LocalDate to = end.atEndOfMonth();
-
-        List<LedgerEntryRepository.MonthlyTrendRow> rows = ledgerEntryRepository.findMonthlyTrend(userId, from, to);
-        Map<String, LedgerEntryRepository.MonthlyTrendRow> byKey = new HashMap<>();
-        for (LedgerEntryRepository.MonthlyTrendRow r : rows) {
-            String key = String.format("%04d-%02d", r.getY(), r.getM());
-            byKey.put(key, r);
-        }
-
-        List<LedgerTrendPointResponse> out = new ArrayList<>(safeMonths);
-        for (int i = 0; i < safeMonths; i++) {
-            YearMonth ym = start.plusMonths(i);
-            String key = String.format("%04d-%02d", ym.getYear(), ym.getMonthValue());
-            LedgerEntryRepository.MonthlyTrendRow r = byKey.get(key);
-            BigDecimal income = r == null ? BigDecimal.ZERO : nvl(r.getIncome());
-            BigDecimal expense = r == null ? BigDecimal.ZERO : nvl(r.getExpense());
-            out.add(new LedgerTrendPointResponse(key, income, expense, income.subtract(expense)));
+        return trendRange(userId, YearMonth.now().minusMonths(safeMonths - 1L), safeMonths);
+    }
+
+    /**
+     * Trend for {@code months} months starting at {@code start}, without the 36-month clamp of {@link #trendFor}.
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerTrendPointResponse> trendRange(Long userId, YearMonth start, int months) {
+        return metrics.record("trend", null, () -> {
+            // Served from the monthly rollups: at most one row per month and type.
+            return assembleTrend(rollupService.findRange(userId, start, start.plusMonths(months - 1L)), start, months);
+        });
+    }
+
+    static List<LedgerTrendPointResponse> assembleTrend(List<LedgerMonthlyRollup> rows, YearMonth start, int months) {
+        // Month offset from start -> cents, so aggregation is plain long arithmetic.
+        long[] income = new long[months];
+        long[] expense = new long[months];
+        int startIndex = start.getYear() * 12 + start.getMonthValue() - 1;
+        for (LedgerMonthlyRollup r : rows) {
+            int offset = (r.getPeriod() / 100) * 12 + (r.getPeriod() % 100) - 1 - startIndex;
+            if (offset < 0 || offset >= months || r.getTotal() == null) continue;
+            long[] totals = r.getType() == LedgerEntryType.INCOME ? income : expense;
+            totals[offset] = Math.addExact(totals[offset], r.getTotal().cents());
+        }
+
+        List<LedgerTrendPointResponse> out = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            out.add(new LedgerTrendPointResponse(
+                    start.plusMonths(i).toString(),
+                    Money.ofCents(income[i]),
+                    Money.ofCents(expense[i]),
+                    Money.ofCents(Math.subtractExact(income[i], expense[i]))
+            ));
         }
         return out;
     }
 
+    /**
+     * Category (expenses) or source (incomes) x month totals from {@code from} to {@code to}, inclusive.
+     */
     @Transactional(readOnly = true)
-    public LedgerDashboardResponse dashboard(int trendMonths, int recentSize) {
-        int safeTrendMonths = Math.min(Math.max(trendMonths, 1), 36);
-        int safeRecentSize = Math.min(Math.max(recentSize, 1), 50);
-
-        YearMonth now = YearMonth.now();
-        String monthKey = String.format("%04d-%02d", now.getYear(), now.getMonthValue());
-        LocalDate from = now.atDay(1);
-        LocalDate to = now.atEndOfMonth();
-
-        LedgerSummaryResponse monthSummary = summary(null, null, null, from, to, null, null);
-        List<LedgerTrendPointResponse> points = trend(safeTrendMonths);
-        List<LedgerEntryResponse> recent = list(
-                LedgerEntryType.EXPENSE,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                "date",
-                "desc",
-                0,
-                safeRecentSize
-        ).getContent();
-
-        return new LedgerDashboardResponse(
-                monthKey,
-                monthSummary.totalIncome(),
-                monthSummary.totalExpense(),
-                monthSummary.pnl(),
-                points,
-                recent
-        );
+    public LedgerMatrixResponse matrixFor(Long userId, LedgerEntryType type, YearMonth from, YearMonth to) {
+        return metrics.record("matrix", null, () -> {
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("from must not be after to");
+            }
+            long months = from.until(to, ChronoUnit.MONTHS) + 1;
+            if (months > MAX_MATRIX_MONTHS) {
+                throw new IllegalArgumentException("Matrix range is limited to " + MAX_MATRIX_MONTHS + " months");
+            }
+
+            // Served from the category rollups: one index range scan, at most one row per month and tag.
+            return assembleMatrix(type, rollupService.findCategoryRange(userId, type, from, to), from, (int) months);
+        });
+    }
+
+    static LedgerMatrixResponse assembleMatrix(LedgerEntryType type, List<LedgerCategoryRollup> cells, YearMonth start, int months) {
+        Enum<?>[] tags = type == LedgerEntryType.INCOME ? IncomeSource.values() : ExpenseCategory.values();
+
+        // [tag ordinal][month offset] -> cents
+        long[][] cents = new long[tags.length][months];
+        int startIndex = start.getYear() * 12 + start.getMonthValue() - 1;
+        for (LedgerCategoryRollup c : cells) {
+            int offset = (c.getPeriod() / 100) * 12 + (c.getPeriod() % 100) - 1 - startIndex;
+            if (offset < 0 || offset >= months || c.getTotal() == null) continue;
+            int tag = type == LedgerEntryType.INCOME
+                    ? IncomeSource.valueOf(c.getTag()).ordinal()
+                    : ExpenseCategory.valueOf(c.getTag()).ordinal();
+            cents[tag][offset] = Math.addExact(cents[tag][offset], c.getTotal().cents());
+        }
+
+        List<String> labels = new ArrayList<>(months);
+        long[] monthTotals = new long[months];
+        for (int i = 0; i < months; i++) {
+            labels.add(start.plusMonths(i).toString());
+        }
+
+        List<LedgerMatrixRowResponse> rows = new ArrayList<>(tags.length);
+        long total = 0;
+        for (Enum<?> tag : tags) {
+            long[] row = cents[tag.ordinal()];
+            List<Money> amounts = new ArrayList<>(months);
+            long rowTotal = 0;
+            for (int i = 0; i < months; i++) {
+                amounts.add(Money.ofCents(row[i]));
+                rowTotal = Math.addExact(rowTotal, row[i]);
+                monthTotals[i] = Math.addExact(monthTotals[i], row[i]);
+            }
+            total = Math.addExact(total, rowTotal);
+            rows.add(new LedgerMatrixRowResponse(
+                    tag instanceof ExpenseCategory category ? category : null,
+                    tag instanceof IncomeSource source ? source : null,
+                    amounts,
+                    Money.ofCents(rowTotal)
+            ));
+        }
+
+        List<Money> columnTotals = new ArrayList<>(months);
+        for (long t : monthTotals) {
+            columnTotals.add(Money.ofCents(t));
+        }
+        return new LedgerMatrixResponse(type, labels, rows, columnTotals, Money.ofCents(total));
     }
 
     @Transactional
     public void deleteEntry(Long id) {
-        Long userId = securityUtils.getCurrentUserId();
-        LedgerEntry entry = ledgerEntryRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Entry not found"));
+        metrics.record("deleteEntry", () -> {
+            Long userId = securityUtils.getCurrentUserId();
+            LedgerEntry entry = ledgerEntryRepository.findById(id).orElse(null);
+            LedgerArchivedEntry archived = null;
+            if (entry == null && archive.isEnabled()) {
+                archived = archivedEntryRepository.findById(id).orElse(null);
+                entry = archived == null ? null : archived.toEntry();
+            }
+            if (entry == null) {
+                throw new ResponseStatusException(NOT_FOUND, "Entry not found");
+            }
+
+            if (!entry.getUser().getId().equals(userId)) {
+                throw new AccessDeniedException("Access denied");
+            }
+
+            if (archived != null) {
+                archivedEntryRepository.delete(archived);
+            } else {
+                ledgerEntryRepository.delete(entry);
+            }
+            rollupService.entryRemoved(userId, entry);
+            versions.bump(userId, List.of(entry));
+            projections.entryRemoved(userId, entry.getId());
+            searchIndex.entryRemoved(userId, entry.getId());
+            eventPublisher.publishEvent(new LedgerChangedEvent(userId));
+        });
+    }
 
-        if (!entry.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("Access denied");
+    static LedgerEntry newExpense(User user, CreateExpenseRequest req) {
+        LedgerEntry entry = LedgerEntry.builder()
+                .user(user)
+                .type(LedgerEntryType.EXPENSE)
+                .description(req.description().trim())
+                .expenseCategory(req.category())
+                .incomeSource(null)
+                .amount(req.amount())
+                .entryDate(req.date())
+                .build();
+
+        validateEntry(entry);
+        return entry;
+    }
+
+    static LedgerEntry newIncome(User user, CreateIncomeRequest req) {
+        LedgerEntry entry = LedgerEntry.builder()
+                .user(user)
+                .type(LedgerEntryType.INCOME)
+                .description(req.description().trim())
+                .incomeSource(req.source())
+                .expenseCategory(null)
+                .amount(req.amount())
+                .entryDate(req.date())
+                .build();
+
+        validateEntry(entry);
+        return entry;
+    }
+
+    private static LedgerEntry toEntry(User user, LedgerBatchItemRequest item) {
+        if (item == null) {
+            throw new IllegalStateException("Item is required");
+        }
+        if (item.kind() == null) {
+            throw new IllegalStateException("Entry kind is required");
+        }
+        if (item.description() != null && item.description().trim().length() > 255) {
+            throw new IllegalStateException("Description must be at most 255 characters");
         }
 
-        ledgerEntryRepository.delete(entry);
+        boolean expense = item.kind() == LedgerEntryType.EXPENSE;
+        return LedgerEntry.builder()
+                .user(user)
+                .type(item.kind())
+                .description(item.description() == null ? null : item.description().trim())
+                .expenseCategory(expense ? item.category() : null)
+                .incomeSource(expense ? null : item.source())
+                .amount(item.amount())
+                .entryDate(item.date())
+                .build();
     }
 
     private static void validateEntry(LedgerEntry entry) {
@@ -259,61 +686,170 @@ public class LedgerService {
         }
     }
 
-    private static LedgerEntryResponse toResponse(LedgerEntry e) {
+    static LedgerEntryResponse toResponse(LedgerEntry e) {
         return new LedgerEntryResponse(
                 e.getId(),
                 e.getType(),
                 e.getDescription(),
                 e.getExpenseCategory(),
                 e.getIncomeSource(),
-                e.getAmount(),
+                Money.of(e.getAmount()),
                 e.getEntryDate()
         );
     }
 
-    private static Sort toSort(LedgerEntryType type, String sortBy, String sortDir) {
+    private static Sort toSort(List<SeekKey> keys) {
+        Sort sort = Sort.unsorted();
+        for (SeekKey k : keys) {
+            sort = sort.and(Sort.by(k.desc() ? Sort.Direction.DESC : Sort.Direction.ASC, k.attribute()));
+        }
+        return sort;
+    }
+
+    record SeekKey(String attribute, boolean desc) {
+    }
+
+    /**
+     * Orderings accepted by list and scroll, each ending with the id as a unique tie-breaker so pages are
+     * deterministic and the seek is total. Tag sorts always break ties newest first, whichever way the tags run.
+     */
+    static List<SeekKey> toSeekKeys(LedgerEntryType type, String sortBy, String sortDir) {
         String by = (sortBy == null ? "date" : sortBy.trim().toLowerCase());
         boolean desc = sortDir == null || sortDir.trim().equalsIgnoreCase("desc");
-        Sort.Direction dir = desc ? Sort.Direction.DESC : Sort.Direction.ASC;
 
         return switch (by) {
-            case "amount" -> Sort.by(dir, "amount");
+            case "amount" -> List.of(new SeekKey("amount", desc), new SeekKey("id", desc));
             case "tag" -> {
                 // Tag sorting only makes sense when a concrete type is selected.
-                if (type == LedgerEntryType.EXPENSE) yield Sort.by(dir, "expenseCategory").and(Sort.by(Sort.Direction.DESC, "entryDate"));
-                if (type == LedgerEntryType.INCOME) yield Sort.by(dir, "incomeSource").and(Sort.by(Sort.Direction.DESC, "entryDate"));
-                yield Sort.by(Sort.Direction.DESC, "entryDate");
+                if (type == LedgerEntryType.EXPENSE) {
+                    yield List.of(new SeekKey("expenseCategory", desc), new SeekKey("entryDate", true), new SeekKey("id", true));
+                }
+                if (type == LedgerEntryType.INCOME) {
+                    yield List.of(new SeekKey("incomeSource", desc), new SeekKey("entryDate", true), new SeekKey("id", true));
+                }
+                yield List.of(new SeekKey("entryDate", true), new SeekKey("id", true));
             }
-            case "date" -> Sort.by(dir, "entryDate");
-            default -> Sort.by(Sort.Direction.DESC, "entryDate");
+            case "date" -> List.of(new SeekKey("entryDate", desc), new SeekKey("id", desc));
+            default -> List.of(new SeekKey("entryDate", true), new SeekKey("id", true));
         };
     }
 
-    private static Specification<LedgerEntry> baseSpec(
+    private static String seekLabel(List<SeekKey> keys) {
+        StringBuilder sb = new StringBuilder();
+        for (SeekKey k : keys) {
+            if (!sb.isEmpty()) sb.append(',');
+            sb.append(k.attribute()).append(k.desc() ? ":desc" : ":asc");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Row-value comparison "(k1, k2, ...) after (v1, v2, ...)" expanded into
+     * k1 > v1 OR (k1 = v1 AND k2 > v2) OR ..., honouring each key's direction.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seekPredicate(CriteriaBuilder cb, Root<?> root, List<SeekKey> keys, LedgerCursor after) {
+        List<Predicate> branches = new ArrayList<>(keys.size());
+        List<Predicate> equalPrefix = new ArrayList<>(keys.size());
+
+        for (SeekKey k : keys) {
+            Expression<Comparable> path = root.get(k.attribute());
+            Comparable value = seekValue(k.attribute(), after);
+
+            Predicate step = k.desc() ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+            List<Predicate> branch = new ArrayList<>(equalPrefix);
+            branch.add(step);
+            branches.add(cb.and(branch.toArray(Predicate[]::new)));
+
+            equalPrefix.add(cb.equal(path, value));
+        }
+        return cb.or(branches.toArray(Predicate[]::new));
+    }
+
+    private static Comparable<?> seekValue(String attribute, LedgerCursor after) {
+        try {
+            return switch (attribute) {
+                case "entryDate" -> after.entryDate();
+                case "amount" -> after.amount();
+                case "expenseCategory" -> ExpenseCategory.valueOf(after.tag());
+                case "incomeSource" -> IncomeSource.valueOf(after.tag());
+                case "id" -> after.id();
+                default -> throw new IllegalStateException("Unsupported seek attribute: " + attribute);
+            };
+        } catch (NullPointerException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * In-memory equivalent of the ORDER BY built from {@code keys}; enums compare by name and nulls first, as
+     * MySQL orders the stored strings.
+     */
+    static Comparator<LedgerEntry> seekOrder(List<SeekKey> keys) {
+        Comparator<LedgerEntry> order = null;
+        for (SeekKey k : keys) {
+            Comparator<LedgerEntry> next = switch (k.attribute()) {
+                case "entryDate" -> Comparator.comparing(LedgerEntry::getEntryDate);
+                case "amount" -> Comparator.comparing(LedgerEntry::getAmount);
+                case "expenseCategory" -> Comparator.comparing(e -> e.getExpenseCategory() == null ? null : e.getExpenseCategory().name(),
+                        Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+                case "incomeSource" -> Comparator.comparing(e -> e.getIncomeSource() == null ? null : e.getIncomeSource().name(),
+                        Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+                case "id" -> Comparator.comparing(LedgerEntry::getId);
+                default -> throw new IllegalStateException("Unsupported seek attribute: " + k.attribute());
+            };
+            next = k.desc() ? next.reversed() : next;
+            order = order == null ? next : order.thenComparing(next);
+        }
+        return order;
+    }
+
+    private static Specification<LedgerEntry> baseSpec(Long userId, LedgerFilter filter, LedgerSearchStore.Match search) {
+        return (root, query, cb) -> searchPredicate(cb, root, userId, filter, search);
+    }
+
+    /**
+     * {@link #basePredicate} plus the description search, when there is one. The LIKE is what decides; the
+     * index's candidate ids only keep it from having to look at every one of the user's entries.
+     */
+    private static Predicate searchPredicate(
+            CriteriaBuilder cb,
+            Root<?> root,
             Long userId,
-            LedgerEntryType type,
-            ExpenseCategory category,
-            IncomeSource source,
-            LocalDate dateFrom,
-            LocalDate dateTo,
-            BigDecimal minAmount,
-            BigDecimal maxAmount
+            LedgerFilter filter,
+            LedgerSearchStore.Match search
     ) {
-        return (root, query, cb) -> basePredicate(cb, root, userId, type, category, source, dateFrom, dateTo, minAmount, maxAmount);
+        Predicate p = basePredicate(cb, root, userId, filter);
+        if (search == null) {
+            return p;
+        }
+
+        if (search.candidateIds() != null) {
+            List<Long> ids = new ArrayList<>(search.candidateIds().length);
+            for (long id : search.candidateIds()) {
+                ids.add(id);
+            }
+            p = cb.and(p, root.get("id").in(ids));
+        }
+        // '!' rather than a backslash, which MySQL would also read as a string escape.
+        String pattern = "%" + search.term().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return cb.and(p, cb.like(cb.lower(root.get("description")), pattern, '!'));
     }
 
-    private static Predicate basePredicate(
+    static Predicate basePredicate(
             CriteriaBuilder cb,
-            Root<LedgerEntry> root,
+            Root<?> root,
             Long userId,
-            LedgerEntryType type,
-            ExpenseCategory category,
-            IncomeSource source,
-            LocalDate dateFrom,
-            LocalDate dateTo,
-            BigDecimal minAmount,
-            BigDecimal maxAmount
+            LedgerFilter filter
     ) {
+        LedgerEntryType type = filter.type();
+        ExpenseCategory category = filter.category();
+        IncomeSource source = filter.source();
+        LocalDate dateFrom = filter.dateFrom();
+        LocalDate dateTo = filter.dateTo();
+        BigDecimal minAmount = filter.minAmount();
+        BigDecimal maxAmount = filter.maxAmount();
+
         Predicate p = cb.equal(root.get("user").get("id"), userId);
 
         if (type != null) {
@@ -348,8 +884,4 @@ public class LedgerService {
 
         return p;
     }
-
-    private static BigDecimal nvl(BigDecimal v) {
-        return v == null ? BigDecimal.ZERO : v;
-    }
 }
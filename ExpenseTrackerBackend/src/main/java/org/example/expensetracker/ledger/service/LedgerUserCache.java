@@ -0,0 +1,368 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.example.expensetracker.datasource.ReplicaRoutingContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Per-user in-memory copies of ledger data, LRU-evicted under a global memory budget. Backs
+ * {@link LedgerProjectionStore} and {@link LedgerSearchStore}, which differ only in what they build from a
+ * user's entries.
+ *
+ * A copy is loaded on the user's first read and from then on updated in place after each of their writes
+ * commits. Each user has a generation number that is bumped by every committed write; a load whose snapshot
+ * started under an older generation may have missed a write and is not installed. Generations are only kept
+ * for users with a copy or a load in flight.
+ *
+ * Generations only see writes made through this instance. A copy therefore also tracks the user's database
+ * version: the one its load read, plus one per local write applied (each write transaction bumps it once).
+ * When the version the current request observed ({@link LedgerVersionService#observed}) differs, another
+ * instance wrote too, and the copy is dropped and loaded again.
+ */
+final class LedgerUserCache<T> {
+
+    /**
+     * What is cached per user and how it is built from the user's entries.
+     */
+    interface Contents<T> {
+
+        /**
+         * JPQL select list over the entry alias {@code e}; rows are handed to {@link #put} in id order.
+         */
+        String columns();
+
+        T create(int capacity);
+
+        void put(T value, Object[] row);
+
+        long estimatedBytes(T value);
+
+        /**
+         * Whether an in-place update left the copy no longer worth keeping; it is then loaded again on next read.
+         */
+        boolean outgrown(T value);
+    }
+
+    enum Outcome { HIT, LOAD, BYPASS }
+
+    private final Contents<T> contents;
+    private final LedgerArchiveService archive;
+    private final LedgerVersionService versions;
+    private final EntityManager entityManager;
+    private final TransactionTemplate loadTx;
+    private final long memoryBudget;
+    private final int maxEntriesPerUser;
+    private final Duration oversizedRecheck;
+    private final Consumer<Outcome> outcomes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Slot<T>> slots = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Long, Long> generations = new HashMap<>();
+    private long totalBytes;
+
+    private final ConcurrentHashMap<Long, CompletableFuture<T>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> oversizedUntil = new ConcurrentHashMap<>();
+
+    private final Counter evictions;
+    private final Counter discardedLoads;
+    private final Counter staleCopies;
+    private final Timer loadTimer;
+
+    /**
+     * @param name     meter prefix: {@code <name>.evictions}, {@code .discarded.loads}, {@code .stale},
+     *                 {@code .load}, {@code .users} and {@code .bytes} are registered here
+     * @param outcomes told whether each read was a hit, a load or a bypass, for the caller's own counters
+     */
+    LedgerUserCache(
+            String name,
+            Contents<T> contents,
+            DataSize memoryBudget,
+            int maxEntriesPerUser,
+            Duration oversizedRecheck,
+            LedgerArchiveService archive,
+            LedgerVersionService versions,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            Consumer<Outcome> outcomes
+    ) {
+        this.contents = contents;
+        this.memoryBudget = memoryBudget.toBytes();
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.oversizedRecheck = oversizedRecheck;
+        this.archive = archive;
+        this.versions = versions;
+        this.entityManager = entityManager;
+        this.outcomes = outcomes;
+
+        // Own short transaction, so a load never joins (or waits on) the caller's.
+        this.loadTx = new TransactionTemplate(transactionManager);
+        this.loadTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTx.setReadOnly(true);
+
+        this.evictions = Counter.builder(name + ".evictions").register(registry);
+        this.discardedLoads = Counter.builder(name + ".discarded.loads").register(registry);
+        this.staleCopies = Counter.builder(name + ".stale").register(registry);
+        this.loadTimer = Timer.builder(name + ".load").register(registry);
+
+        Gauge.builder(name + ".users", this, LedgerUserCache::users).register(registry);
+        Gauge.builder(name + ".bytes", this, LedgerUserCache::bytes).register(registry);
+    }
+
+    /**
+     * The user's copy, loading it first if needed. Null when the user's ledger is too large, or a write raced
+     * the load; callers then read from the database.
+     */
+    T get(Long userId) {
+        long version = versions.observed(userId);
+        lock.lock();
+        try {
+            Slot<T> slot = slots.get(userId);
+            if (slot != null) {
+                if (slot.version == version) {
+                    outcomes.accept(Outcome.HIT);
+                    return slot.value;
+                }
+                // Written through another instance since the copy was loaded.
+                slots.remove(userId);
+                totalBytes -= slot.bytes;
+                staleCopies.increment();
+                forgetIfIdle(userId);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Long until = oversizedUntil.get(userId);
+        if (until != null) {
+            if (System.nanoTime() - until < 0) {
+                outcomes.accept(Outcome.BYPASS);
+                return null;
+            }
+            oversizedUntil.remove(userId, until);
+        }
+
+        // One load per user at a time; concurrent first reads wait for it.
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> existing = loading.putIfAbsent(userId, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException re ? re : ex;
+            }
+        }
+
+        try {
+            T value = loadTimer.record(() -> load(userId));
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(userId, mine);
+            lock.lock();
+            try {
+                forgetIfIdle(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies {@code change} to the user's copy, if loaded, once the current transaction commits.
+     */
+    void afterCommit(Long userId, Consumer<T> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, change);
+            }
+        });
+    }
+
+    private void apply(Long userId, Consumer<T> change) {
+        lock.lock();
+        try {
+            Slot<T> slot = slots.get(userId);
+            if (slot == null && !loading.containsKey(userId)) {
+                // Nothing cached or being cached; the next load reads this write anyway.
+                return;
+            }
+            generations.merge(userId, 1L, Long::sum);
+            if (slot == null) {
+                return;
+            }
+            change.accept(slot.value);
+            slot.version++;
+            resize(slot);
+            if (contents.outgrown(slot.value)) {
+                slots.remove(userId);
+                totalBytes -= slot.bytes;
+                evictions.increment();
+                forgetIfIdle(userId);
+            }
+            evictOverBudget();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T load(Long userId) {
+        long generation;
+        lock.lock();
+        try {
+            generation = generations.getOrDefault(userId, 0L);
+        } finally {
+            lock.unlock();
+        }
+
+        // Always from the primary: a lagging replica could miss a write whose generation bump came before the
+        // snapshot, and nothing would ever correct the copy afterwards.
+        Slot<T> slot;
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.pinToPrimary()) {
+            slot = loadTx.execute(status -> read(userId));
+        }
+        if (slot == null) {
+            oversizedUntil.put(userId, System.nanoTime() + oversizedRecheck.toNanos());
+            outcomes.accept(Outcome.BYPASS);
+            return null;
+        }
+
+        outcomes.accept(Outcome.LOAD);
+        lock.lock();
+        try {
+            if (generations.getOrDefault(userId, 0L) != generation) {
+                // A write committed during the load; serve the database this time and load again next read.
+                discardedLoads.increment();
+                return null;
+            }
+            slots.put(userId, slot);
+            resize(slot);
+            evictOverBudget();
+        } finally {
+            lock.unlock();
+        }
+        return slot.value;
+    }
+
+    private Slot<T> read(Long userId) {
+        // First read of the transaction, so the rows below come from the same snapshot as the version.
+        long version = versions.current(userId);
+
+
+        // Archived entries are read too, so the copy answers the same as the archive-aware queries.
+        List<String> entities = archive.isEnabled()
+                ? List.of("LedgerArchivedEntry", "LedgerEntry")
+                : List.of("LedgerEntry");
+
+        long count = 0;
+        for (String entity : entities) {
+            count += entityManager.createQuery(
+                            "select count(e) from " + entity + " e where e.user.id = :userId", Long.class)
+                    .setParameter("userId", userId)
+                    .getSingleResult();
+        }
+        if (count > maxEntriesPerUser) {
+            return null;
+        }
+
+        T value = contents.create((int) count);
+        for (String entity : entities) {
+            try (Stream<Object[]> rows = entityManager.createQuery(
+                            "select " + contents.columns() + " from " + entity + " e where e.user.id = :userId"
+                                    + " order by e.id", Object[].class)
+                    .setParameter("userId", userId)
+                    .getResultStream()) {
+                rows.forEach(r -> contents.put(value, r));
+            }
+        }
+        return new Slot<>(value, version);
+    }
+
+    // Callers hold the lock.
+    private void resize(Slot<T> slot) {
+        long bytes = contents.estimatedBytes(slot.value);
+        totalBytes += bytes - slot.bytes;
+        slot.bytes = bytes;
+    }
+
+    // Callers hold the lock.
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, Slot<T>>> it = slots.entrySet().iterator();
+        while (totalBytes > memoryBudget && it.hasNext()) {
+            Map.Entry<Long, Slot<T>> evicted = it.next();
+            it.remove();
+            totalBytes -= evicted.getValue().bytes;
+            evictions.increment();
+            forgetIfIdle(evicted.getKey());
+        }
+    }
+
+    // Callers hold the lock. A load registers in loading before it reads the generation, so one starting
+    // concurrently either keeps the generation alive or starts from scratch after it is gone.
+    private void forgetIfIdle(Long userId) {
+        if (!slots.containsKey(userId) && !loading.containsKey(userId)) {
+            generations.remove(userId);
+        }
+    }
+
+    private int users() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long bytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Slot<T> {
+
+        private final T value;
+        private long version;
+        private long bytes;
+
+        Slot(T value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.expensetracker.ledger.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.repository.LedgerVersionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user ledger versions and the ETags derived from them.
+ *
+ * The version lives in the database rather than in memory so every instance agrees on it: a write served by
+ * one instance must invalidate the ETags handed out by all the others. In-memory caches check their results
+ * against it for the same reason, so a body served under a tag is never older than the tag's version.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerVersionService {
+
+    private static final String OBSERVED = LedgerVersionService.class.getName() + ".observed.";
+
+    private final LedgerVersionRepository versionRepository;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Bumps the user's version for a write of {@code entries}, and their history version too when any of them is
+     * dated before the current month.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId, Collection<LedgerEntry> entries) {
+        LocalDate monthStart = YearMonth.now().atDay(1);
+        boolean history = false;
+        for (LedgerEntry e : entries) {
+            if (e.getEntryDate().isBefore(monthStart)) {
+                history = true;
+                break;
+            }
+        }
+        versionRepository.bump(userId, history ? 1 : 0);
+    }
+
+    @Transactional(readOnly = true)
+    public long current(Long userId) {
+        return versionRepository.findVersion(userId).orElse(0L);
+    }
+
+    /**
+     * The user's version as first read during the current request, so the ETag and every cached result the
+     * request serves agree on it. Read afresh outside a request (e.g. on the dashboard's worker threads).
+     */
+    public long observed(Long userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return current(userId);
+        }
+        String name = OBSERVED + userId;
+        if (attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST) instanceof Long version) {
+            return version;
+        }
+        long version = current(userId);
+        attributes.setAttribute(name, version, RequestAttributes.SCOPE_REQUEST);
+        return version;
+    }
+
+    @Transactional(readOnly = true)
+    public long history(Long userId) {
+        return versionRepository.findHistoryVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Weak ETag for the current user's read of {@code resource} with the given parameters, at their current
+     * version.
+     *
+     * The user id is part of the tag so a browser shared by two accounts can't revalidate one user's cached
+     * response for the other. Read the version before building the body: a write landing in between then only
+     * makes the tag older than the body, which costs a 200 later, never a wrong 304.
+     */
+    public String etag(String resource, Object... params) {
+        Long userId = securityUtils.getCurrentUserId();
+        long version = observed(userId);
+        // String forms only (enum hash codes differ between JVMs), so every instance derives the same tag.
+        int paramsHash = (resource + Arrays.toString(params)).hashCode();
+        return "W/\"" + userId + "-" + version + "-" + Integer.toHexString(paramsHash) + "\"";
+    }
+}
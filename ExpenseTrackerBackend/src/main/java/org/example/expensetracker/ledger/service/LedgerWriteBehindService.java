@@ -0,0 +1,234 @@
+package org.example.expensetracker.ledger.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.config.LedgerWriteBehindProperties;
+import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
+import org.example.expensetracker.ledger.dto.CreateIncomeRequest;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Group commit for single-entry writes.
+ *
+ * Request threads validate the entry, put it on a bounded queue and get a future back; one writer thread
+ * drains up to batch-size entries (waiting at most linger for more) and commits them in a single transaction
+ * through {@link LedgerService#commitEntries}. Each future completes once its group has committed, so the
+ * API semantics are unchanged: a 201 still means the entry is durable.
+ *
+ * If a group fails, its entries are retried one per transaction so a single bad row only fails its own caller.
+ * Starts before and stops after the web server, so queued writes are drained on shutdown.
+ */
+@Service
+public class LedgerWriteBehindService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerWriteBehindService.class);
+
+    private final LedgerService ledgerService;
+    private final SecurityUtils securityUtils;
+    private final LedgerWriteBehindProperties props;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LedgerWriteBehindService(
+            LedgerService ledgerService,
+            SecurityUtils securityUtils,
+            LedgerWriteBehindProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        this.ledgerService = ledgerService;
+        this.securityUtils = securityUtils;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, props.getQueueCapacity()));
+
+        Gauge.builder("ledger.write.queue.depth", queue, BlockingQueue::size)
+                .description("Ledger writes waiting for a group commit")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("ledger.write.batch.size")
+                .description("Entries committed per group commit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ledger.write.rejected")
+                .description("Ledger writes rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    public CompletableFuture<LedgerEntryResponse> addExpense(CreateExpenseRequest req) {
+        User user = securityUtils.getCurrentUserReference();
+        return enqueue(LedgerService.newExpense(user, req));
+    }
+
+    public CompletableFuture<LedgerEntryResponse> addIncome(CreateIncomeRequest req) {
+        User user = securityUtils.getCurrentUserReference();
+        return enqueue(LedgerService.newIncome(user, req));
+    }
+
+    private CompletableFuture<LedgerEntryResponse> enqueue(LedgerEntry entry) {
+        if (!running) {
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Ledger writes are not being accepted");
+        }
+
+        PendingWrite write = new PendingWrite(entry, new CompletableFuture<>());
+        if (!queue.offer(write)) {
+            rejected.increment();
+            throw new ResponseStatusException(TOO_MANY_REQUESTS, "Too many pending ledger writes, retry shortly");
+        }
+        // stop() may have flipped running and done its final drain since the check above. If the write is still
+        // queued nobody will take it, so take it back; if it is gone, the writer or stop() completes it.
+        if (!running && queue.remove(write)) {
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Ledger writes are not being accepted");
+        }
+        return write.result();
+    }
+
+    private void drainLoop() {
+        int batchSize = Math.max(1, props.getBatchSize());
+        long lingerNanos = props.getLinger().toNanos();
+
+        while (running || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                // stop() interrupts only after the drain deadline; whatever is left gets failed there.
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            List<PendingWrite> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            long deadline = System.nanoTime() + lingerNanos;
+            try {
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            commit(batch);
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        batchSizes.record(batch.size());
+
+        List<LedgerEntry> entries = new ArrayList<>(batch.size());
+        for (PendingWrite w : batch) {
+            entries.add(w.entry());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<LedgerEntryResponse> responses = ledgerService.commitEntries(entries);
+            sample.stop(meterRegistry.timer("ledger.write.commit", "outcome", "success"));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+        } catch (RuntimeException ex) {
+            sample.stop(meterRegistry.timer("ledger.write.commit", "outcome", "error"));
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(ex);
+                return;
+            }
+
+            logger.warn("Group commit of {} ledger entries failed, retrying individually: {}", batch.size(), ex.getMessage());
+            for (PendingWrite w : batch) {
+                // Ids may have been assigned before the rollback.
+                w.entry().setId(null);
+                commit(List.of(w));
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!props.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("ledger-write-behind").start(this::drainLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        try {
+            writer.join(props.getShutdownTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+
+        List<PendingWrite> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            logger.warn("Failing {} queued ledger writes on shutdown", left.size());
+            ResponseStatusException ex = new ResponseStatusException(SERVICE_UNAVAILABLE, "Server is shutting down");
+            left.forEach(w -> w.result().completeExceptionally(ex));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's phases: start before it accepts requests, stop after it stops taking them.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record PendingWrite(LedgerEntry entry, CompletableFuture<LedgerEntryResponse> result) {
+    }
+}
@@ -1 +1,104 @@
+package org.example.expensetracker.auth.security;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtUtilTest {
+
+    private JwtProperties props;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        props = new JwtProperties();
+        props.setSecret("test-secret-that-is-definitely-longer-than-32-bytes");
+        props.setIssuer("expense-tracker");
+        props.setAccessTokenTtl(Duration.ofMinutes(5));
+        jwtUtil = new JwtUtil(props);
+    }
+
+    @Test
+    void verifyReturnsClaimsOfGeneratedToken() {
+        String token = jwtUtil.generateToken(user());
+
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().username()).isEqualTo("alice_user");
+        assertThat(verified.get().userId()).isEqualTo(42L);
+        assertThat(verified.get().role()).isEqualTo("USER");
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void verifyServesRepeatTokensFromCache() {
+        String token = jwtUtil.generateToken(user());
+
+        VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        VerifiedToken second = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verifyRejectsTamperedAndForeignTokens() {
+        String token = jwtUtil.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        JwtProperties otherProps = new JwtProperties();
+        otherProps.setSecret("another-secret-that-is-also-longer-than-32-bytes");
+        String foreign = new JwtUtil(otherProps).generateToken(user());
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.verify(foreign)).isEmpty();
+        assertThat(jwtUtil.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtUtil.verify(null)).isEmpty();
+    }
+
+    @Test
+    void checkReportsWhyATokenWasRejected() {
+        JwtProperties otherProps = new JwtProperties();
+        otherProps.setSecret("another-secret-that-is-also-longer-than-32-bytes");
+        String foreign = new JwtUtil(otherProps).generateToken(user());
+
+        // Same key and issuer as the fixture, but issued already expired; the shared props stay untouched.
+        JwtProperties expiredProps = new JwtProperties();
+        expiredProps.setSecret(props.getSecret());
+        expiredProps.setIssuer(props.getIssuer());
+        expiredProps.setAccessTokenTtl(Duration.ofMinutes(-1));
+        String expired = new JwtUtil(expiredProps).generateToken(user());
+
+        assertThat(jwtUtil.check(foreign).failure()).isEqualTo(JwtVerification.Failure.SIGNATURE);
+        assertThat(jwtUtil.check(expired).failure()).isEqualTo(JwtVerification.Failure.EXPIRED);
+        assertThat(jwtUtil.check("not-a-jwt").failure()).isEqualTo(JwtVerification.Failure.MALFORMED);
+        assertThat(jwtUtil.check(" ").failure()).isEqualTo(JwtVerification.Failure.MISSING);
+        assertThat(jwtUtil.check(jwtUtil.generateToken(user())).isVerified()).isTrue();
+    }
+
+    @Test
+    void verifyWorksWithCacheDisabled() {
+        props.setVerifiedTokenCacheSize(0);
+        JwtUtil uncached = new JwtUtil(props);
+        String token = uncached.generateToken(user());
+
+        assertThat(uncached.verify(token)).isPresent();
+        assertThat(uncached.verify(token).orElseThrow()).isNotSameAs(uncached.verify(token).orElseThrow());
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(42L)
+                .username("alice_user")
+                .email("alice@example.com")
+                .password("{noop}secret")
+                .role(Role.USER)
+                .build();
+    }
+}
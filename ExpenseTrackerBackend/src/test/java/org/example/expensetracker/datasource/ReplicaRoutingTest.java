@@ -0,0 +1,153 @@
+package org.example.expensetracker.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.example.expensetracker.ledger.money.Money;
+import org.example.expensetracker.ledger.service.LedgerChangedEvent;
+import org.example.expensetracker.ledger.service.LedgerFilter;
+import org.example.expensetracker.ledger.service.LedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Uses a second database on the same MySQL server as the replica stand-in. The same user has a
+ * different expense total in each database, so every summary shows which side served the read.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.lag-check-interval=1h",
+        "app.ledger.cache.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingTest {
+
+    private static final long USER_ID = 1;
+    private static final Money PRIMARY_TOTAL = Money.ofCents(10_000);
+    private static final Money REPLICA_TOTAL = Money.ofCents(90_000);
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0").withUsername("root");
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("app.datasource.routing.replicas[0].url", ReplicaRoutingTest::createReplicaDatabase);
+        registry.add("app.datasource.routing.replicas[0].username", MYSQL::getUsername);
+        registry.add("app.datasource.routing.replicas[0].password", MYSQL::getPassword);
+    }
+
+    private static String createReplicaDatabase() {
+        try (Connection c = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+             Statement st = c.createStatement()) {
+            st.execute("create database if not exists replica");
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return MYSQL.getJdbcUrl().replace("/" + MYSQL.getDatabaseName(), "/replica");
+    }
+
+    private static boolean prepared;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void prepare() {
+        if (!prepared) {
+            // JdbcTemplate outside a transaction always goes to the primary.
+            for (String table : new String[]{"users", "ledger_entries", "ledger_monthly_rollups"}) {
+                jdbcTemplate.execute("create table replica." + table + " like " + table);
+            }
+            for (String schema : new String[]{"", "replica."}) {
+                jdbcTemplate.update("insert into " + schema + "users (id, username, email, password, role, enabled, created_at, updated_at)"
+                        + " values (?, 'routing_user', 'routing@example.com', '{noop}x', 'USER', true, now(), now())", USER_ID);
+            }
+            insertExpense("", PRIMARY_TOTAL);
+            insertExpense("replica.", REPLICA_TOTAL);
+            prepared = true;
+        }
+        routingDataSource.replicas().forEach(r -> r.update(true, 0));
+    }
+
+    private void insertExpense(String schema, Money amount) {
+        jdbcTemplate.update("insert into " + schema + "ledger_entries (user_id, entry_type, description, expense_category, amount, entry_date, created_at, updated_at)"
+                + " values (?, 'EXPENSE', 'routing', 'PERSONAL', ?, current_date, now(), now())", USER_ID, amount.toBigDecimal());
+    }
+
+    private Money expenseTotal() {
+        return ledgerService.summaryFor(USER_ID, LedgerFilter.none()).totalExpense();
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() {
+        assertThat(expenseTotal()).isEqualTo(REPLICA_TOTAL);
+    }
+
+    @Test
+    void pinnedThreadsReadFromThePrimary() {
+        try (ReplicaRoutingContext.Scope ignored = ReplicaRoutingContext.pinToPrimary()) {
+            assertThat(expenseTotal()).isEqualTo(PRIMARY_TOTAL);
+        }
+        assertThat(ReplicaRoutingContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        routingDataSource.replicas().get(0).update(false, 60);
+
+        assertThat(expenseTotal()).isEqualTo(PRIMARY_TOTAL);
+    }
+
+    @Test
+    void lagMonitorTreatsAStandaloneServerAsInSync() {
+        ReplicaRoutingDataSource.Replica replica = routingDataSource.replicas().get(0);
+        replica.update(false, -1);
+
+        lagMonitor.check(replica);
+
+        assertThat(replica.isHealthy()).isTrue();
+        assertThat(expenseTotal()).isEqualTo(REPLICA_TOTAL);
+    }
+
+    @Test
+    void usersWhoJustWroteAreRecognised() {
+        eventPublisher.publishEvent(new LedgerChangedEvent(USER_ID));
+
+        assertThat(readYourWritesTracker.wroteRecently(USER_ID)).isTrue();
+        assertThat(readYourWritesTracker.wroteRecently(USER_ID + 1)).isFalse();
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.expensetracker.ledger.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.example.expensetracker.auth.security.JwtUtil;
+import org.example.expensetracker.datasource.StatementBudgetFilter;
+import org.example.expensetracker.datasource.StatementStats;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.repository.LedgerEntryBatchRepository;
+import org.example.expensetracker.ledger.service.LedgerRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Pins the number of SQL statements each ledger endpoint executes, so an extra lookup or an N+1 fails the
+ * build instead of showing up in production.
+ *
+ * Caches are off and the user-status TTL is zero, so every request pays exactly one status lookup while
+ * authenticating, plus one ledger-version lookup on the endpoints that carry an ETag, plus whatever the endpoint
+ * itself runs. If a change legitimately alters a count, update the
+ * expectation here and say why in the commit.
+ */
+@SpringBootTest(properties = {
+        "app.ledger.cache.enabled=false",
+        "app.ledger.projection.enabled=false",
+        "app.ledger.write-behind.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "app.jwt.user-status-ttl=0s",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerStatementCountTest {
+
+    private static final int ENTRIES = 30;
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Seeded once for the whole class; the container and the Spring context are shared across tests.
+    private static User user;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryBatchRepository batchRepository;
+
+    @Autowired
+    private LedgerRollupService rollupService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        if (user == null) {
+            user = userRepository.save(User.builder()
+                    .username("counted_user")
+                    .email("counted@example.com")
+                    .password("{noop}x")
+                    .role(Role.USER)
+                    .build());
+            List<LedgerEntry> entries = new ArrayList<>(ENTRIES);
+            for (int i = 0; i < ENTRIES; i++) {
+                entries.add(LedgerEntry.builder()
+                        .user(user)
+                        .type(LedgerEntryType.EXPENSE)
+                        .description("seed entry " + i)
+                        .expenseCategory(ExpenseCategory.PERSONAL)
+                        .amount(BigDecimal.valueOf(1000 + i, 2))
+                        .entryDate(LocalDate.now().minusDays(i))
+                        .build());
+            }
+            batchRepository.insertAll(entries);
+            rollupService.rebuild(user.getId());
+        }
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Test
+    void summaryRunsOneAggregate() throws Exception {
+        assertThat(statements(get("/api/ledger/summary").param("type", "EXPENSE"))).isEqualTo(2 + 1);
+    }
+
+    @Test
+    void trendReadsOnlyTheRollups() throws Exception {
+        assertThat(statements(get("/api/ledger/trend").param("months", "12"))).isEqualTo(2 + 1);
+    }
+
+    @Test
+    void matrixReadsOnlyTheCategoryRollups() throws Exception {
+        assertThat(statements(get("/api/ledger/matrix").param("from", "2024-01").param("to", "2026-12"))).isEqualTo(2 + 1);
+    }
+
+    @Test
+    void fullFirstPageRunsSelectAndCount() throws Exception {
+        assertThat(statements(get("/api/ledger/entries").param("size", "10"))).isEqualTo(2 + 2);
+    }
+
+    @Test
+    void shortFirstPageSkipsTheCount() throws Exception {
+        assertThat(statements(get("/api/ledger/entries").param("size", "50"))).isEqualTo(2 + 1);
+    }
+
+    @Test
+    void scrollNeverCounts() throws Exception {
+        assertThat(statements(get("/api/ledger/entries/scroll").param("size", "10"))).isEqualTo(1 + 1);
+    }
+
+    @Test
+    void dashboardRunsOneStatementPerComponent() throws Exception {
+        // summary, trend and recent run on worker threads and are still charged to the request.
+        assertThat(statements(get("/api/ledger/dashboard"))).isEqualTo(2 + 3);
+    }
+
+    @Test
+    void notModifiedOnlyLooksUpTheVersion() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/ledger/summary").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        MvcResult revalidated = mockMvc.perform(get("/api/ledger/summary")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertThat(countOf(revalidated)).isEqualTo(2);
+    }
+
+    @Test
+    void addExpenseInsertsTheEntryAndUpsertsItsRollups() throws Exception {
+        String body = """
+                {"description": "coffee", "category": "PERSONAL", "amount": 3.50, "date": "%s"}
+                """.formatted(LocalDate.now());
+
+        MvcResult result = mockMvc.perform(post("/api/ledger/expenses")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // entry insert, monthly rollup upsert, category rollup upsert, version bump
+        assertThat(countOf(result)).isEqualTo(1 + 4);
+        assertThat(rollupService.verify(user.getId())).as("incrementally maintained rollups match a rebuild").isTrue();
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return countOf(result);
+    }
+
+    private static int countOf(MvcResult result) {
+        StatementStats stats = (StatementStats) result.getRequest().getAttribute(StatementBudgetFilter.STATS_ATTRIBUTE);
+        assertThat(stats).as("statement stats recorded by the filter").isNotNull();
+        return stats.count();
+    }
+}
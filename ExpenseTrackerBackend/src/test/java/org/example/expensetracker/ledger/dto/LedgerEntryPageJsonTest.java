@@ -0,0 +1,86 @@
+package org.example.expensetracker.ledger.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class LedgerEntryPageJsonTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    /**
+     * Same components as {@link LedgerEntryResponse}, without the hand-written serializer.
+     */
+    record Reflective(
+            Long id,
+            LedgerEntryType kind,
+            String description,
+            ExpenseCategory category,
+            IncomeSource source,
+            Money amount,
+            LocalDate date
+    ) {
+    }
+
+    private static final List<LedgerEntryResponse> ROWS = List.of(
+            new LedgerEntryResponse(1L, LedgerEntryType.EXPENSE, "groceries", ExpenseCategory.SURVIVAL, null,
+                    Money.ofCents(123_450), LocalDate.of(2026, 1, 31)),
+            new LedgerEntryResponse(2L, LedgerEntryType.INCOME, "salary \"march\" €\n", null, IncomeSource.FROM_TRADING,
+                    Money.ofCents(5), LocalDate.of(2025, 12, 1)),
+            new LedgerEntryResponse(null, LedgerEntryType.EXPENSE, null, null, null, null, null)
+    );
+
+    @Test
+    void entriesRenderExactlyLikeReflectiveRecordSerialization() {
+        for (LedgerEntryResponse e : ROWS) {
+            Reflective reflective = new Reflective(
+                    e.id(), e.kind(), e.description(), e.category(), e.source(), e.amount(), e.date());
+
+            assertThat(mapper.writeValueAsString(e)).isEqualTo(mapper.writeValueAsString(reflective));
+        }
+    }
+
+    @Test
+    void envelopeKeepsOnlyStablePagingFields() {
+        LedgerEntryPage page = LedgerEntryPage.of(new PageImpl<>(ROWS.subList(0, 1), PageRequest.of(2, 1), 5));
+
+        assertThat(mapper.writeValueAsString(page)).isEqualTo(
+                "{\"content\":[{\"id\":1,\"kind\":\"expense\",\"description\":\"groceries\",\"category\":\"survival\","
+                        + "\"source\":null,\"amount\":1234.50,\"date\":\"2026-01-31\"}],"
+                        + "\"page\":2,\"size\":1,\"totalElements\":5,\"totalPages\":5,\"hasNext\":true,"
+                        + "\"approximateTotal\":false}");
+    }
+
+    @Test
+    void sliceTotalCoversTheRowsItHasSeen() {
+        // A stale cached total of 3, but the slice on page 2 of size 2 has rows 4-5 and knows of a sixth.
+        LedgerEntryPage page = LedgerEntryPage.of(new SliceImpl<>(ROWS.subList(0, 2), PageRequest.of(2, 2), true), 3, true);
+
+        assertThat(page.totalElements()).isEqualTo(7);
+        assertThat(page.totalPages()).isEqualTo(4);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.approximateTotal()).isTrue();
+    }
+
+    @Test
+    void emptySlicePastTheEndKeepsTheCountedTotal() {
+        // Page 5 of size 10 over 12 rows: nothing there, and the offset says nothing about the total.
+        LedgerEntryPage page = LedgerEntryPage.of(new SliceImpl<>(List.of(), PageRequest.of(5, 10), false), 12, true);
+
+        assertThat(page.totalElements()).isEqualTo(12);
+        assertThat(page.totalPages()).isEqualTo(2);
+        assertThat(page.hasNext()).isFalse();
+    }
+}
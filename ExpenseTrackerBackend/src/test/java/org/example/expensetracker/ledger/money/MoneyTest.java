@@ -0,0 +1,50 @@
+package org.example.expensetracker.ledger.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class MoneyTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    record Amounts(Money money, BigDecimal decimal) {
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "0.05", "-0.05", "-1.05", "1234.50", "92233720368547758.07"})
+    void writesTheSameJsonAsAScaleTwoBigDecimal(String value) {
+        BigDecimal decimal = new BigDecimal(value);
+
+        String json = mapper.writeValueAsString(new Amounts(Money.of(decimal), decimal));
+
+        assertThat(json).isEqualTo("{\"money\":" + value + ",\"decimal\":" + value + "}");
+        assertThat(mapper.readValue(json, Amounts.class).money()).isEqualTo(Money.of(decimal));
+    }
+
+    @Test
+    void roundsHalfUpToCentsAndTreatsNullAsZero() {
+        assertThat(Money.of(new BigDecimal("1.005")).cents()).isEqualTo(101);
+        assertThat(Money.of(new BigDecimal("-1.005")).cents()).isEqualTo(-101);
+        assertThat(Money.of(new BigDecimal("7"))).isEqualTo(Money.ofCents(700));
+        assertThat(Money.of(null)).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        Money income = Money.of(new BigDecimal("100.10"));
+        Money expense = Money.of(new BigDecimal("250.25"));
+
+        assertThat(income.minus(expense).toBigDecimal()).isEqualByComparingTo("-150.15");
+        assertThat(income.plus(expense).toString()).isEqualTo("350.35");
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
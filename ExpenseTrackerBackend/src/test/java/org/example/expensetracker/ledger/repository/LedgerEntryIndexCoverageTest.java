@@ -0,0 +1,345 @@
+package org.example.expensetracker.ledger.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.example.expensetracker.ledger.dto.LedgerEntryCursorPage;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.service.LedgerFilter;
+import org.example.expensetracker.ledger.service.LedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Seeds a realistic amount of ledger data into a real MySQL, runs every filter/sort combination through
+ * LedgerService, and EXPLAINs the statements it actually sent, with their bound parameters, checking each is
+ * served by an index without a filesort.
+ *
+ * Statements are captured by wrapping the application DataSource, so whatever Hibernate generates is what gets
+ * checked. Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "app.ledger.cache.enabled=false",
+        "app.ledger.projection.enabled=false",
+        "app.ledger.search.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerEntryIndexCoverageTest {
+
+    private static final int USERS = 3;
+    private static final int ENTRIES_PER_USER = 40_000;
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return new CapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    // Seeded once for the whole class; the container and the Spring context are shared across tests.
+    private static Long userId;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryBatchRepository batchRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (userId != null) {
+            return;
+        }
+
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        IncomeSource[] sources = IncomeSource.values();
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now().minusYears(5);
+
+        List<User> users = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(userRepository.save(User.builder()
+                    .username("seed_user_" + u)
+                    .email("seed" + u + "@example.com")
+                    .password("{noop}x")
+                    .role(Role.USER)
+                    .build()));
+        }
+
+        for (User user : users) {
+            List<LedgerEntry> entries = new ArrayList<>(ENTRIES_PER_USER);
+            for (int i = 0; i < ENTRIES_PER_USER; i++) {
+                boolean expense = random.nextInt(4) != 0;
+                entries.add(LedgerEntry.builder()
+                        .user(user)
+                        .type(expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME)
+                        .description("seed entry " + i)
+                        .expenseCategory(expense ? categories[random.nextInt(categories.length)] : null)
+                        .incomeSource(expense ? null : sources[random.nextInt(sources.length)])
+                        .amount(BigDecimal.valueOf(100 + random.nextInt(500_000), 2))
+                        .entryDate(start.plusDays(random.nextInt(5 * 365)))
+                        .build());
+            }
+            batchRepository.insertAll(entries);
+        }
+        jdbcTemplate.execute("analyze table ledger_entries");
+        userId = users.get(1).getId();
+    }
+
+    static Stream<Arguments> listQueries() {
+        LocalDate from = LocalDate.now().minusMonths(6);
+        LocalDate to = LocalDate.now();
+        BigDecimal low = new BigDecimal("100");
+        BigDecimal high = new BigDecimal("2000");
+        LedgerEntryType expense = LedgerEntryType.EXPENSE;
+        LedgerEntryType income = LedgerEntryType.INCOME;
+
+        return Stream.of(
+                // sort by date
+                Arguments.of("date, no filter", LedgerFilter.none(), "date", "desc"),
+                Arguments.of("date asc, no filter", LedgerFilter.none(), "date", "asc"),
+                Arguments.of("date, type", filter(expense, null, null, null, null, null, null), "date", "desc"),
+                Arguments.of("date, category", filter(null, ExpenseCategory.PERSONAL, null, null, null, null, null), "date", "desc"),
+                Arguments.of("date, source", filter(null, null, IncomeSource.SALARY, null, null, null, null), "date", "desc"),
+                Arguments.of("date, date range", filter(null, null, null, from, to, null, null), "date", "desc"),
+                Arguments.of("date, type + date range", filter(income, null, null, from, to, null, null), "date", "desc"),
+                Arguments.of("date, category + date range", filter(null, ExpenseCategory.SURVIVAL, null, from, to, null, null), "date", "desc"),
+                // sort by amount
+                Arguments.of("amount, no filter", LedgerFilter.none(), "amount", "desc"),
+                Arguments.of("amount asc, no filter", LedgerFilter.none(), "amount", "asc"),
+                Arguments.of("amount, type", filter(expense, null, null, null, null, null, null), "amount", "desc"),
+                Arguments.of("amount, amount range", filter(null, null, null, null, null, low, high), "amount", "desc"),
+                Arguments.of("amount, type + amount range", filter(expense, null, null, null, null, low, high), "amount", "desc"),
+                // sort by tag, ties newest first in both directions
+                Arguments.of("tag desc, expenses", filter(expense, null, null, null, null, null, null), "tag", "desc"),
+                Arguments.of("tag asc, expenses", filter(expense, null, null, null, null, null, null), "tag", "asc"),
+                Arguments.of("tag desc, incomes", filter(income, null, null, null, null, null, null), "tag", "desc"),
+                Arguments.of("tag asc, incomes", filter(income, null, null, null, null, null, null), "tag", "asc"),
+                Arguments.of("tag, expenses + category", filter(expense, ExpenseCategory.INVESTMENT, null, null, null, null, null), "tag", "desc")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listQueries")
+    void offsetPagesUseIndexWithoutFilesort(String name, LedgerFilter filter, String sortBy, String sortDir) {
+        List<Captured> statements = capture(() -> ledgerService.listFor(userId, filter, sortBy, sortDir, 2, 50));
+
+        assertIndexedWithoutFilesort(statements);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listQueries")
+    void keysetPagesUseIndexWithoutFilesort(String name, LedgerFilter filter, String sortBy, String sortDir) {
+        LedgerEntryCursorPage first = ledgerService.scrollFor(userId, filter, sortBy, sortDir, null, 50);
+        assertThat(first.nextCursor()).as("second page of %s", name).isNotNull();
+
+        List<Captured> statements = capture(
+                () -> ledgerService.scrollFor(userId, filter, sortBy, sortDir, first.nextCursor(), 50));
+
+        assertIndexedWithoutFilesort(statements);
+    }
+
+    static Stream<Arguments> summaryQueries() {
+        LocalDate from = LocalDate.now().withDayOfMonth(1);
+        LocalDate to = LocalDate.now();
+
+        return Stream.of(
+                Arguments.of("summary, date range", filter(null, null, null, from, to, null, null)),
+                Arguments.of("summary, type + date range", filter(LedgerEntryType.EXPENSE, null, null, from, to, null, null)),
+                Arguments.of("summary, category", filter(null, ExpenseCategory.PERSONAL, null, null, null, null, null)),
+                Arguments.of("summary, amount range", filter(null, null, null, null, null, new BigDecimal("100"), new BigDecimal("2000")))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("summaryQueries")
+    void summaryUsesIndex(String name, LedgerFilter filter) {
+        List<Captured> statements = capture(() -> ledgerService.summaryFor(userId, filter));
+
+        assertIndexedWithoutFilesort(statements);
+    }
+
+    @Test
+    void tagSortsBreakTiesNewestFirst() {
+        LedgerFilter expenses = filter(LedgerEntryType.EXPENSE, null, null, null, null, null, null);
+        for (String dir : List.of("asc", "desc")) {
+            List<LedgerEntryResponse> content = ledgerService.listFor(userId, expenses, "tag", dir, 0, 500).getContent();
+            for (int i = 1; i < content.size(); i++) {
+                LedgerEntryResponse prev = content.get(i - 1);
+                LedgerEntryResponse next = content.get(i);
+                if (prev.category() == next.category()) {
+                    assertThat(next.date()).as("tag %s, row %d", dir, i).isBeforeOrEqualTo(prev.date());
+                }
+            }
+        }
+    }
+
+    private static LedgerFilter filter(LedgerEntryType type, ExpenseCategory category, IncomeSource source,
+                                       LocalDate from, LocalDate to, BigDecimal min, BigDecimal max) {
+        return new LedgerFilter(type, category, source, from, to, min, max);
+    }
+
+    private List<Captured> capture(Runnable call) {
+        List<Captured> statements = new ArrayList<>();
+        CapturingDataSource.CAPTURED.set(statements);
+        try {
+            call.run();
+        } finally {
+            CapturingDataSource.CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    private void assertIndexedWithoutFilesort(List<Captured> statements) {
+        List<Captured> queries = statements.stream()
+                .filter(s -> s.sql().stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(queries).as("queries sent").isNotEmpty();
+
+        for (Captured query : queries) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + query.sql(), query.params().toArray());
+            for (Map<String, Object> row : plan) {
+                String extra = String.valueOf(row.get("Extra"));
+
+                assertThat(row.get("key")).as("index used by %s %s (plan: %s)", query.sql(), query.params(), row).isNotNull();
+                assertThat(String.valueOf(row.get("type"))).as("access type of %s", query.sql()).isNotEqualTo("ALL");
+                assertThat(extra).as("extra for %s %s", query.sql(), query.params()).doesNotContain("Using filesort");
+            }
+        }
+    }
+
+    record Captured(String sql, List<Object> params) {
+    }
+
+    /**
+     * Records each prepared statement executed on the current thread while {@link #CAPTURED} is set, with the
+     * values bound to it.
+     */
+    static final class CapturingDataSource extends DelegatingDataSource {
+
+        static final ThreadLocal<List<Captured>> CAPTURED = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    CapturingDataSource.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return wrap(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            TreeMap<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    CapturingDataSource.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            params.clear();
+                        } else if (name.startsWith("execute")) {
+                            List<Captured> captured = CAPTURED.get();
+                            if (captured != null) {
+                                captured.add(new Captured(sql, new ArrayList<>(params.values())));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
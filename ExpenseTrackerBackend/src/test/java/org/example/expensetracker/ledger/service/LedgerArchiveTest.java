@@ -0,0 +1,222 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.example.expensetracker.auth.security.JwtUserPrincipal;
+import org.example.expensetracker.ledger.dto.LedgerEntryCursorPage;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.repository.LedgerArchiveRepository;
+import org.example.expensetracker.ledger.repository.LedgerEntryBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Archives the cold years of a seeded ledger and checks that list, scroll, summary, trend and export answer
+ * exactly as before, and that the partitions rolled as expected.
+ */
+@SpringBootTest(properties = {
+        "app.ledger.archive.enabled=true",
+        "app.ledger.archive.retain-years=1",
+        "app.ledger.archive.batch-size=250",
+        "app.ledger.projection.enabled=false",
+        "app.ledger.cache.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerArchiveTest {
+
+    private static final int ENTRIES = 2_000;
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerRollupService rollupService;
+
+    @Autowired
+    private LedgerArchiveJob archiveJob;
+
+    @Autowired
+    private LedgerArchiveService archiveService;
+
+    @Autowired
+    private LedgerArchiveRepository archiveRepository;
+
+    @Autowired
+    private LedgerExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryBatchRepository batchRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .username("archive_user")
+                .email("archive@example.com")
+                .password("{noop}x")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+
+        ExpenseCategory[] categories = {ExpenseCategory.PERSONAL, ExpenseCategory.SURVIVAL, ExpenseCategory.INVESTMENT};
+        Random random = new Random(11);
+        LocalDate start = LocalDate.now().minusYears(4);
+
+        List<LedgerEntry> entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            entries.add(LedgerEntry.builder()
+                    .user(user)
+                    .type(expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME)
+                    .description("seed entry " + i)
+                    .expenseCategory(expense ? categories[random.nextInt(3)] : null)
+                    .incomeSource(expense ? null : IncomeSource.SALARY)
+                    .amount(BigDecimal.valueOf(100 * (1 + random.nextInt(200)), 2))
+                    .entryDate(start.plusDays(random.nextInt(4 * 365 / 7) * 7L))
+                    .build());
+        }
+        batchRepository.insertAll(entries);
+        rollupService.rebuild(userId);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(userId, user.getUsername(), "USER"), null, List.of()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsAreUnchangedByArchiving() {
+        // Nothing is converted until an admin asks for it.
+        assertThat(archiveRepository.partitions()).isEmpty();
+        int year = Year.now().getValue();
+        assertThat(archiveJob.partition()).containsExactly(
+                LedgerArchiveRepository.COLD, "p" + (year - 1), "p" + year, "p" + (year + 1), LedgerArchiveRepository.FUTURE);
+
+        Map<String, Object> before = snapshot();
+
+        archiveJob.run();
+
+        LocalDate horizon = archiveService.horizon();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from ledger_entries where entry_date < ?", Long.class, horizon))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from ledger_entries_archive", Long.class))
+                .isPositive();
+        assertThat(jdbcTemplate.queryForObject(
+                "select row_format from information_schema.tables where table_schema = database() and table_name = 'ledger_entries_archive'",
+                String.class)).isEqualToIgnoringCase("Compressed");
+
+        assertThat(snapshot()).isEqualTo(before);
+        assertThat(rollupService.verify(userId)).isTrue();
+
+        // Undated offset pages merge both tables, so they stop at max-merged-offset; live-only pages don't.
+        assertThatThrownBy(() -> ledgerService.listFor(userId, LedgerFilter.none(), "date", "desc", 201, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        LedgerFilter recent = new LedgerFilter(null, null, null, LocalDate.now().minusMonths(3), null, null, null);
+        assertThat(ledgerService.listFor(userId, recent, "date", "desc", 201, 50).getContent()).isEmpty();
+    }
+
+    private String export(LedgerFilter filter) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exportService.export(filter, LedgerExportFormat.CSV, out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> snapshot() {
+        LocalDate today = LocalDate.now();
+        List<LedgerFilter> filters = List.of(
+                LedgerFilter.none(),
+                new LedgerFilter(LedgerEntryType.EXPENSE, null, null, null, null, null, null),
+                new LedgerFilter(null, ExpenseCategory.SURVIVAL, null, null, null, null, null),
+                new LedgerFilter(null, null, null, today.minusYears(3), today.minusYears(1), null, null),
+                new LedgerFilter(null, null, null, today.minusMonths(3), null, null, null),
+                new LedgerFilter(null, null, null, null, null, new BigDecimal("10"), new BigDecimal("50"))
+        );
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (LedgerFilter filter : filters) {
+            out.put("summary " + filter, ledgerService.summaryFor(userId, filter));
+            for (String sortBy : new String[]{"date", "amount", "tag"}) {
+                for (String sortDir : new String[]{"desc", "asc"}) {
+                    for (int page : new int[]{0, 7}) {
+                        Page<LedgerEntryResponse> p = ledgerService.listFor(userId, filter, sortBy, sortDir, page, 50);
+                        out.put("list " + page + " " + sortBy + " " + sortDir + " " + filter,
+                                List.of(p.getTotalElements(), p.getContent()));
+                    }
+
+                    String cursor = null;
+                    for (int i = 0; i < 3; i++) {
+                        LedgerEntryCursorPage p = ledgerService.scrollFor(userId, filter, sortBy, sortDir, cursor, 100);
+                        out.put("scroll " + i + " " + sortBy + " " + sortDir + " " + filter, p.content());
+                        cursor = p.nextCursor();
+                        if (cursor == null) break;
+                    }
+                }
+            }
+        }
+        out.put("trend", ledgerService.trendFor(userId, 36));
+        for (LedgerFilter filter : filters) {
+            out.put("export " + filter, export(filter));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.example.expensetracker.auth.security.JwtUserPrincipal;
+import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
+import org.example.expensetracker.ledger.dto.CreateIncomeRequest;
+import org.example.expensetracker.ledger.dto.CreateLedgerBatchRequest;
+import org.example.expensetracker.ledger.dto.LedgerBatchItemRequest;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.repository.LedgerEntryBatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Checks that a user's in-memory projection answers every list, summary and trend query exactly like the
+ * database, both right after loading and after it has been updated in place by writes.
+ */
+@SpringBootTest(properties = {
+        "app.ledger.projection.enabled=true",
+        "app.ledger.cache.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerProjectionConsistencyTest {
+
+    private static final int ENTRIES = 3_000;
+
+    private static final String[] SORTS = {"date", "amount", "tag"};
+    private static final String[] DIRECTIONS = {"desc", "asc"};
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerEntryBatchRepository batchRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerRollupService rollupService;
+
+    @Autowired
+    private LedgerProjectionStore projections;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .username("projection_user")
+                .email("projection@example.com")
+                .password("{noop}x")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+
+        ExpenseCategory[] categories = {ExpenseCategory.PERSONAL, ExpenseCategory.SURVIVAL, ExpenseCategory.INVESTMENT};
+        IncomeSource[] sources = {IncomeSource.SALARY, IncomeSource.FROM_INVESTMENT, IncomeSource.FROM_TRADING};
+        Random random = new Random(7);
+        LocalDate start = LocalDate.now().minusYears(3);
+
+        List<LedgerEntry> entries = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            entries.add(LedgerEntry.builder()
+                    .user(user)
+                    .type(expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME)
+                    .description("seed entry " + i)
+                    .expenseCategory(expense ? categories[random.nextInt(3)] : null)
+                    .incomeSource(expense ? null : sources[random.nextInt(3)])
+                    // Few distinct dates and amounts, so every ordering has plenty of ties.
+                    .amount(BigDecimal.valueOf(100 * (1 + random.nextInt(300)) + random.nextInt(3), 2))
+                    .entryDate(start.plusDays(random.nextInt(3 * 365 / 7) * 7L))
+                    .build());
+        }
+        batchRepository.insertAll(entries);
+        rollupService.rebuild(userId);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(userId, user.getUsername(), "USER"), null, List.of()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void projectionMatchesDatabaseBeforeAndAfterWrites() {
+        LedgerProjection projection = projections.get(userId);
+        assertThat(projection).isNotNull();
+        assertThat(projection.size()).isEqualTo(ENTRIES);
+        assertMatchesDatabase(projection);
+
+        LocalDate today = LocalDate.now();
+        ledgerService.addExpense(new CreateExpenseRequest("rent", ExpenseCategory.SURVIVAL, new BigDecimal("1200.00"), today));
+        ledgerService.addIncome(new CreateIncomeRequest("pay", IncomeSource.SALARY, new BigDecimal("3000.50"), today.minusMonths(2)));
+        ledgerService.addBatch(new CreateLedgerBatchRequest(List.of(
+                new LedgerBatchItemRequest(LedgerEntryType.EXPENSE, "coffee", ExpenseCategory.PERSONAL, null, new BigDecimal("3.01"), today.minusYears(1)),
+                new LedgerBatchItemRequest(LedgerEntryType.INCOME, "dividend", null, IncomeSource.FROM_INVESTMENT, new BigDecimal("42.00"), today),
+                new LedgerBatchItemRequest(LedgerEntryType.EXPENSE, "invalid", null, null, BigDecimal.ONE, today)
+        )));
+        for (Long id : jdbcTemplate.queryForList("select id from ledger_entries where user_id = ? order by id limit 20", Long.class, userId)) {
+            ledgerService.deleteEntry(id);
+        }
+
+        // Still the same, in-place updated instance rather than a reload.
+        assertThat(projections.get(userId)).isSameAs(projection);
+        assertThat(projection.size()).isEqualTo(ENTRIES + 4 - 20);
+        assertMatchesDatabase(projection);
+    }
+
+    private void assertMatchesDatabase(LedgerProjection projection) {
+        LocalDate today = LocalDate.now();
+        List<LedgerFilter> filters = List.of(
+                LedgerFilter.none(),
+                new LedgerFilter(LedgerEntryType.EXPENSE, null, null, null, null, null, null),
+                new LedgerFilter(LedgerEntryType.INCOME, null, null, null, null, null, null),
+                new LedgerFilter(null, ExpenseCategory.SURVIVAL, null, null, null, null, null),
+                new LedgerFilter(null, null, IncomeSource.SALARY, null, null, null, null),
+                new LedgerFilter(LedgerEntryType.EXPENSE, null, IncomeSource.SALARY, null, null, null, null),
+                new LedgerFilter(null, null, null, today.minusMonths(7), today.minusMonths(1), null, null),
+                new LedgerFilter(null, null, null, null, null, new BigDecimal("10.005"), new BigDecimal("250.5")),
+                new LedgerFilter(LedgerEntryType.INCOME, null, null, today.minusYears(2), null, new BigDecimal("100"), null)
+        );
+
+        for (LedgerFilter filter : filters) {
+            assertThat(projection.summary(filter)).as("summary %s", filter)
+                    .isEqualTo(ledgerService.summaryFor(userId, filter));
+
+            for (String sortBy : SORTS) {
+                for (String sortDir : DIRECTIONS) {
+                    for (int page : new int[]{0, 3}) {
+                        Page<LedgerEntryResponse> expected = ledgerService.listFor(userId, filter, sortBy, sortDir, page, 50);
+                        Page<LedgerEntryResponse> actual = projection.page(
+                                filter,
+                                LedgerService.toSeekKeys(filter.type(), sortBy, sortDir),
+                                LedgerService.pageRequest(filter.type(), sortBy, sortDir, page, 50)
+                        );
+                        assertThat(actual.getTotalElements()).as("total %s %s %s", filter, sortBy, sortDir)
+                                .isEqualTo(expected.getTotalElements());
+                        assertThat(actual.getContent()).as("page %d %s %s %s", page, filter, sortBy, sortDir)
+                                .isEqualTo(expected.getContent());
+                    }
+                }
+            }
+        }
+
+        assertThat(projection.trend(YearMonth.now().minusMonths(35), 36))
+                .isEqualTo(ledgerService.trendFor(userId, 36));
+    }
+}
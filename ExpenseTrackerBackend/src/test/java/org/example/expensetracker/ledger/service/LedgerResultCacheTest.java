@@ -0,0 +1,93 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.expensetracker.ledger.config.LedgerCacheProperties;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LedgerResultCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LedgerVersionService versionService = mock(LedgerVersionService.class);
+
+    private LedgerResultCache cache(int maxEntries) {
+        LedgerCacheProperties props = new LedgerCacheProperties();
+        props.setMaxEntries(maxEntries);
+        return new LedgerResultCache(props, versionService, registry);
+    }
+
+    private double users() {
+        return registry.get("ledger.cache.users").gauge().value();
+    }
+
+    @Test
+    void usersAreForgottenOnceTheirLastEntryIsEvicted() {
+        LedgerResultCache cache = cache(2);
+        for (long userId = 1; userId <= 1_000; userId++) {
+            long id = userId;
+            cache.get(userId, "summary", "", () -> id);
+            cache.invalidateUser(userId);
+        }
+
+        assertThat(registry.get("ledger.cache.size").gauge().value()).isEqualTo(2);
+        assertThat(users()).isEqualTo(2);
+    }
+
+    @Test
+    void writesStillInvalidateAfterTheUserWasForgotten() {
+        LedgerResultCache cache = cache(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "summary", "", loads::incrementAndGet);
+        cache.get(2L, "summary", "", () -> 0);
+        cache.get(1L, "summary", "", loads::incrementAndGet);
+        cache.invalidateUser(1L);
+
+        assertThat(cache.get(1L, "summary", "", loads::incrementAndGet)).isEqualTo(3);
+    }
+
+    @Test
+    void aLoadRacedByAWriteIsNotKept() {
+        LedgerResultCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "summary", "", () -> {
+            cache.invalidateUser(1L);
+            return loads.incrementAndGet();
+        });
+
+        assertThat(cache.get(1L, "summary", "", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(users()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedLoadLeavesNothingBehind() {
+        LedgerResultCache cache = cache(10);
+
+        assertThatThrownBy(() -> cache.get(1L, "summary", "", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(users()).isZero();
+    }
+
+    @Test
+    void aWriteThroughAnotherInstanceIsSeenOnceTheVersionMoves() {
+        LedgerResultCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+        when(versionService.observed(1L)).thenReturn(4L);
+
+        cache.get(1L, "summary", "", loads::incrementAndGet);
+        assertThat(cache.get(1L, "summary", "", loads::incrementAndGet)).isEqualTo(1);
+
+        when(versionService.observed(1L)).thenReturn(5L);
+        assertThat(cache.get(1L, "summary", "", loads::incrementAndGet)).isEqualTo(2);
+    }
+}
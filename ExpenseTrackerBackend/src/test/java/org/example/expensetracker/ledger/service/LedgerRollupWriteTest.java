@@ -0,0 +1,153 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.expensetracker.auth.entity.Role;
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.repository.UserRepository;
+import org.example.expensetracker.auth.security.JwtUserPrincipal;
+import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
+import org.example.expensetracker.ledger.dto.CreateIncomeRequest;
+import org.example.expensetracker.ledger.dto.CreateLedgerBatchRequest;
+import org.example.expensetracker.ledger.dto.LedgerBatchItemRequest;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerCategoryRollup;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.example.expensetracker.ledger.entity.LedgerMonthlyRollup;
+import org.example.expensetracker.ledger.repository.LedgerMonthlyRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Runs the real write paths against MySQL and checks the rollups they maintain incrementally, so a native
+ * upsert that no longer matches the schema fails here rather than on the first write in production.
+ */
+@SpringBootTest(properties = {
+        "app.ledger.cache.enabled=false",
+        "app.ledger.projection.enabled=false",
+        "app.ledger.write-behind.enabled=false",
+        "app.ledger.rollup.backfill-on-startup=false",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerRollupWriteTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Container
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerRollupService rollupService;
+
+    @Autowired
+    private LedgerMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    private Long userId;
+
+    @BeforeEach
+    void signIn() {
+        int n = USERS.incrementAndGet();
+        User user = userRepository.save(User.builder()
+                .username("rollup_user_" + n)
+                .email("rollup" + n + "@example.com")
+                .password("{noop}x")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(userId, user.getUsername(), "USER"), null, List.of()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesMaintainTheRollups() {
+        LocalDate today = LocalDate.now();
+        YearMonth month = YearMonth.from(today);
+
+        ledgerService.addExpense(new CreateExpenseRequest("rent", ExpenseCategory.SURVIVAL, new BigDecimal("1200.00"), today));
+        ledgerService.addIncome(new CreateIncomeRequest("pay", IncomeSource.SALARY, new BigDecimal("3000.50"), today));
+        ledgerService.addBatch(new CreateLedgerBatchRequest(List.of(
+                new LedgerBatchItemRequest(LedgerEntryType.EXPENSE, "coffee", ExpenseCategory.PERSONAL, null, new BigDecimal("3.01"), today),
+                new LedgerBatchItemRequest(LedgerEntryType.EXPENSE, "groceries", ExpenseCategory.SURVIVAL, null, new BigDecimal("80.00"), today)
+        )));
+        LedgerEntryResponse mistake = ledgerService.addExpense(
+                new CreateExpenseRequest("typo", ExpenseCategory.PERSONAL, new BigDecimal("999.99"), today));
+        ledgerService.deleteEntry(mistake.id());
+
+        List<LedgerMonthlyRollup> monthly = rollupService.findRange(userId, month, month);
+        assertThat(monthly).extracting(LedgerMonthlyRollup::getType, r -> r.getTotal().cents(), LedgerMonthlyRollup::getEntryCount)
+                .containsExactlyInAnyOrder(
+                        tuple(LedgerEntryType.EXPENSE, 128_301L, 3L),
+                        tuple(LedgerEntryType.INCOME, 300_050L, 1L)
+                );
+
+        List<LedgerCategoryRollup> survival = rollupService.findCategoryRange(userId, LedgerEntryType.EXPENSE, month, month)
+                .stream()
+                .filter(r -> r.getTag().equals(ExpenseCategory.SURVIVAL.name()))
+                .toList();
+        assertThat(survival).singleElement().satisfies(r -> {
+            assertThat(r.getTotal().cents()).isEqualTo(128_000L);
+            assertThat(r.getEntryCount()).isEqualTo(2L);
+        });
+
+        assertThat(rollupService.verify(userId)).as("incrementally maintained rollups match a rebuild").isTrue();
+    }
+
+    @Test
+    void repairRebuildsOnlyDriftedRollups() {
+        LocalDate today = LocalDate.now();
+        ledgerService.addExpense(new CreateExpenseRequest("rent", ExpenseCategory.SURVIVAL, new BigDecimal("1200.00"), today));
+
+        assertThat(rollupService.repair(userId)).isFalse();
+
+        tx.executeWithoutResult(status -> rollupRepository.applyDelta(
+                userId, LedgerMonthlyRollup.periodOf(today), LedgerEntryType.EXPENSE.name(), new BigDecimal("1.00"), 1));
+        assertThat(rollupService.verify(userId)).isFalse();
+
+        assertThat(rollupService.repair(userId)).isTrue();
+        assertThat(rollupService.verify(userId)).isTrue();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LedgerSearchIndexTest {
+
+    private static final String[] WORDS = {
+            "Netflix", "rent", "Café", "groceries", "salary", "uber", "Spotify", "electricity", "net", "flix"
+    };
+
+    @Test
+    void candidatesCoverEverySubstringMatch() {
+        Random random = new Random(3);
+        LedgerSearchIndex index = new LedgerSearchIndex(0);
+        Map<Long, String> descriptions = new LinkedHashMap<>();
+        for (long id = 1; id <= 5_000; id++) {
+            String d = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " #" + id;
+            descriptions.put(id, d);
+            index.put(id, d);
+        }
+
+        // Removals, and an id arriving out of order.
+        for (long id = 10; id <= 5_000; id += 10) {
+            index.remove(id);
+            descriptions.remove(id);
+        }
+        index.put(7, "cafe noir");
+        descriptions.put(7L, "cafe noir");
+
+        for (String term : List.of("netflix", "NET", "café", "cafe", "rent sal", "tify", "#4999", "zzz")) {
+            String folded = LedgerSearchIndex.fold(term);
+            List<Long> expected = new ArrayList<>();
+            descriptions.forEach((id, d) -> {
+                if (LedgerSearchIndex.fold(d).contains(folded)) {
+                    expected.add(id);
+                }
+            });
+
+            long[] candidates = index.candidates(folded, Integer.MAX_VALUE);
+            List<Long> actual = new ArrayList<>();
+            for (long id : candidates) {
+                actual.add(id);
+            }
+            assertThat(actual).as(term).containsAll(expected).doesNotHaveDuplicates();
+            assertThat(actual).as(term).allMatch(descriptions::containsKey);
+        }
+    }
+
+    @Test
+    void reportsTermsThatMatchTooMuch() {
+        LedgerSearchIndex index = new LedgerSearchIndex(0);
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, "monthly rent");
+        }
+        assertThat(index.candidates("rent", 99)).isNull();
+        assertThat(index.candidates("rent", 100)).hasSize(100);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.example.expensetracker.ledger.dto.LedgerTrendPointResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.IncomeSource;
+import org.example.expensetracker.ledger.entity.LedgerEntryType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LedgerSegmentTest {
+
+    private static final int ROWS = 20_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aggregatesLikeAPlainScanOfTheRows() throws Exception {
+        Random random = new Random(5);
+        int[] days = new int[ROWS];
+        long[] cents = new long[ROWS];
+        byte[] types = new byte[ROWS];
+        byte[] tags = new byte[ROWS];
+        int firstDay = (int) LocalDate.now().minusYears(10).toEpochDay();
+        for (int i = 0; i < ROWS; i++) {
+            days[i] = firstDay + random.nextInt(3650);
+        }
+        Arrays.sort(days);
+        for (int i = 0; i < ROWS; i++) {
+            boolean expense = random.nextInt(4) != 0;
+            types[i] = (byte) (expense ? LedgerEntryType.EXPENSE : LedgerEntryType.INCOME).ordinal();
+            tags[i] = (byte) (random.nextInt(10) == 0 ? -1 : random.nextInt(3));
+            cents[i] = 1 + random.nextInt(5_000_000);
+        }
+
+        Path file = dir.resolve("1.seg");
+        YearMonth through = YearMonth.now().minusMonths(1);
+        LedgerSegment.write(file, 42, through, days, cents, types, tags, ROWS);
+        LedgerSegment segment = LedgerSegment.open(file);
+
+        assertThat(segment.rows()).isEqualTo(ROWS);
+        assertThat(segment.historyVersion()).isEqualTo(42);
+        assertThat(segment.coveredThrough()).isEqualTo(through);
+        // Varint deltas and amounts plus one kind byte: a fraction of the row store's footprint.
+        assertThat(Files.size(file)).isLessThan(ROWS * 8L);
+
+        LocalDate today = LocalDate.now();
+        List<LedgerFilter> filters = List.of(
+                LedgerFilter.none(),
+                new LedgerFilter(null, ExpenseCategory.SURVIVAL, null, null, null, null, null),
+                new LedgerFilter(null, null, IncomeSource.SALARY, today.minusYears(6), today.minusYears(2), null, null),
+                new LedgerFilter(LedgerEntryType.EXPENSE, null, null, null, null, new BigDecimal("10.005"), new BigDecimal("2500"))
+        );
+        for (LedgerFilter filter : filters) {
+            LedgerRowMatcher m = new LedgerRowMatcher(filter);
+            long[] expected = new long[2];
+            for (int i = 0; i < ROWS; i++) {
+                if (m.matches(types[i], tags[i], days[i], cents[i])) {
+                    expected[types[i] == LedgerEntryType.INCOME.ordinal() ? 0 : 1] += cents[i];
+                }
+            }
+            assertThat(segment.sums(filter)).as("sums %s", filter).containsExactly(expected);
+        }
+
+        YearMonth start = through.minusMonths(119);
+        List<LedgerTrendPointResponse> trend = segment.trend(start, 120);
+        long[] expense = new long[120];
+        for (int i = 0; i < ROWS; i++) {
+            YearMonth month = YearMonth.from(LocalDate.ofEpochDay(days[i]));
+            int offset = (month.getYear() - start.getYear()) * 12 + month.getMonthValue() - start.getMonthValue();
+            if (offset >= 0 && offset < 120 && types[i] == LedgerEntryType.EXPENSE.ordinal()) {
+                expense[offset] += cents[i];
+            }
+        }
+        for (int i = 0; i < 120; i++) {
+            assertThat(trend.get(i).month()).isEqualTo(start.plusMonths(i).toString());
+            assertThat(trend.get(i).expense().cents()).as("expense %s", trend.get(i).month()).isEqualTo(expense[i]);
+        }
+    }
+}
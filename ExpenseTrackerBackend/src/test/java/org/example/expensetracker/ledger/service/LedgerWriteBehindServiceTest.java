@@ -0,0 +1,148 @@
+package org.example.expensetracker.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.example.expensetracker.auth.entity.User;
+import org.example.expensetracker.auth.security.SecurityUtils;
+import org.example.expensetracker.ledger.config.LedgerWriteBehindProperties;
+import org.example.expensetracker.ledger.dto.CreateExpenseRequest;
+import org.example.expensetracker.ledger.dto.LedgerEntryResponse;
+import org.example.expensetracker.ledger.entity.ExpenseCategory;
+import org.example.expensetracker.ledger.entity.LedgerEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LedgerWriteBehindServiceTest {
+
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    private final SecurityUtils securityUtils = mock(SecurityUtils.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LedgerWriteBehindProperties props = new LedgerWriteBehindProperties();
+
+    private LedgerWriteBehindService service;
+
+    @BeforeEach
+    void setUp() {
+        props.setEnabled(true);
+        props.setShutdownTimeout(Duration.ofSeconds(5));
+        when(securityUtils.getCurrentUserReference()).thenReturn(User.builder().id(1L).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    private void start() {
+        service = new LedgerWriteBehindService(ledgerService, securityUtils, props, meterRegistry);
+        service.start();
+    }
+
+    private static CreateExpenseRequest expense(String description) {
+        return new CreateExpenseRequest(description, ExpenseCategory.PERSONAL, new BigDecimal("10.00"), LocalDate.now());
+    }
+
+    private static List<LedgerEntryResponse> committed(List<LedgerEntry> entries) {
+        List<LedgerEntryResponse> out = new ArrayList<>();
+        long id = 1;
+        for (LedgerEntry e : entries) {
+            e.setId(id++);
+            out.add(LedgerService.toResponse(e));
+        }
+        return out;
+    }
+
+    @Test
+    void writesArrivingWithinTheLingerAreCommittedTogether() throws Exception {
+        props.setBatchSize(10);
+        props.setLinger(Duration.ofMillis(300));
+        when(ledgerService.commitEntries(anyList())).thenAnswer(inv -> committed(inv.getArgument(0)));
+        start();
+
+        List<CompletableFuture<LedgerEntryResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(service.addExpense(expense("entry " + i)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).description()).isEqualTo("entry " + i);
+        }
+        verify(ledgerService, times(1)).commitEntries(anyList());
+        assertThat(meterRegistry.get("ledger.write.batch.size").summary().max()).isEqualTo(5);
+    }
+
+    @Test
+    void fullQueueIsRejectedWithTooManyRequests() throws Exception {
+        props.setBatchSize(1);
+        props.setLinger(Duration.ZERO);
+        props.setQueueCapacity(2);
+
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ledgerService.commitEntries(anyList())).thenAnswer(inv -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return committed(inv.getArgument(0));
+        });
+        start();
+
+        CompletableFuture<LedgerEntryResponse> inFlight = service.addExpense(expense("in flight"));
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        service.addExpense(expense("queued 1"));
+        service.addExpense(expense("queued 2"));
+
+        assertThatThrownBy(() -> service.addExpense(expense("overflow")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(meterRegistry.get("ledger.write.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void failedGroupIsRetriedEntryByEntry() throws Exception {
+        props.setBatchSize(10);
+        props.setLinger(Duration.ofMillis(300));
+        when(ledgerService.commitEntries(anyList())).thenAnswer(inv -> {
+            List<LedgerEntry> entries = inv.getArgument(0);
+            if (entries.stream().anyMatch(e -> e.getDescription().equals("bad"))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return committed(entries);
+        });
+        start();
+
+        CompletableFuture<LedgerEntryResponse> good1 = service.addExpense(expense("good 1"));
+        CompletableFuture<LedgerEntryResponse> bad = service.addExpense(expense("bad"));
+        CompletableFuture<LedgerEntryResponse> good2 = service.addExpense(expense("good 2"));
+
+        assertThat(good1.get(5, TimeUnit.SECONDS).description()).isEqualTo("good 1");
+        assertThat(good2.get(5, TimeUnit.SECONDS).description()).isEqualTo("good 2");
+        assertThat(bad).failsWithin(Duration.ofSeconds(5));
+        // One failed group commit, then one attempt per entry.
+        verify(ledgerService, times(4)).commitEntries(anyList());
+    }
+}